@@ -15,16 +15,25 @@
  */
 package org.greenrobot.eventbus;
 
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Posts events in background.
- * 
+ * <p/>
+ * Worker tasks drain the queue, so a worker finishing a subscriber call picks up the next event instead of leaving it
+ * to a new executor task. Workers are only added while there are more queued events than workers waiting for them;
+ * thus ASYNC subscribers still never wait for each other.
+ *
  * @author Markus
  */
 class AsyncPoster implements Runnable, Poster {
 
     private final PendingPostQueue queue;
     private final EventBus eventBus;
+    /** Pending posts not taken by a worker yet. */
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    /** Workers not busy calling a subscriber, i.e. about to take the next pending post. */
+    private final AtomicInteger availableWorkers = new AtomicInteger();
 
     AsyncPoster(EventBus eventBus) {
         this.eventBus = eventBus;
@@ -33,17 +42,67 @@ class AsyncPoster implements Runnable, Poster {
 
     public void enqueue(Subscription subscription, Object event) {
         PendingPost pendingPost = PendingPost.obtainPendingPost(subscription, event);
-        queue.enqueue(pendingPost);
-        eventBus.getExecutorService().execute(this);
+        enqueueAll(pendingPost, pendingPost, 1);
+    }
+
+    public void enqueueAll(PendingPost first, PendingPost last, int count) {
+        queue.enqueueAll(first, last);
+        queuedCount.addAndGet(count);
+        startWorkers();
+    }
+
+    private void startWorkers() {
+        while (tryAddAvailableWorker()) {
+            eventBus.getAsyncExecutorService().execute(this);
+        }
+    }
+
+    /** Counts another available worker if there are more queued events than available workers. */
+    private boolean tryAddAvailableWorker() {
+        while (true) {
+            int available = availableWorkers.get();
+            if (available >= queuedCount.get()) {
+                return false;
+            }
+            if (availableWorkers.compareAndSet(available, available + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public PendingPost pollOldest() {
+        PendingPost pendingPost = queue.poll();
+        if (pendingPost != null) {
+            queuedCount.decrementAndGet();
+        }
+        return pendingPost;
+    }
+
+    public boolean isDeliveryThread() {
+        // Each worker takes a single pending post, so others are left to deliver the queued ones
+        return false;
     }
 
     @Override
     public void run() {
-        PendingPost pendingPost = queue.poll();
-        if(pendingPost == null) {
-            throw new IllegalStateException("No pending post available");
+        while (true) {
+            PendingPost pendingPost = queue.poll();
+            if (pendingPost == null) {
+                availableWorkers.decrementAndGet();
+                // Check again: events enqueued meanwhile may count on this worker
+                if (tryAddAvailableWorker()) {
+                    continue;
+                }
+                return;
+            }
+            queuedCount.decrementAndGet();
+            availableWorkers.decrementAndGet();
+            // Busy from now on, so remaining events may need another worker; this also keeps the counts right if a
+            // subscriber exception escapes (see EventBusBuilder#throwSubscriberException)
+            startWorkers();
+            eventBus.invokeSubscriber(pendingPost);
+            availableWorkers.incrementAndGet();
         }
-        eventBus.invokeSubscriber(pendingPost);
     }
 
 }
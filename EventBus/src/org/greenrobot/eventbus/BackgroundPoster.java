@@ -15,60 +15,160 @@
  */
 package org.greenrobot.eventbus;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 
 /**
  * Posts events in background.
+ * <p/>
+ * Posting threads enqueue lock-free and only touch the consumer state if it is not running: an idle poster gets an
+ * executor task, and a parked consumer is unparked. Once the queue is empty, the consumer spins for a while, then
+ * parks for the rest of its keep alive time before it gives its thread back to the executor.
  *
  * @author Markus
  */
 final class BackgroundPoster implements Runnable, Poster {
 
-    private final PendingPostQueue queue;
+    private static final int IDLE = 0;
+    private static final int RUNNING = 1;
+    private static final int PARKED = 2;
+
+    private final MpscPendingPostQueue queue;
     private final EventBus eventBus;
+    private final long keepAliveNanos;
+    private final int spinsBeforePark;
+    /** Posting threads may remove pending posts (DROP_OLDEST), so the queue's single consumer is taken by a lock. */
+    private final boolean lockQueue;
 
-    private volatile boolean executorRunning;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private volatile Thread consumerThread;
 
-    BackgroundPoster(EventBus eventBus) {
+    BackgroundPoster(EventBus eventBus, long keepAliveNanos, int spinsBeforePark, boolean lockQueue) {
         this.eventBus = eventBus;
-        queue = new PendingPostQueue();
+        this.keepAliveNanos = keepAliveNanos;
+        this.spinsBeforePark = spinsBeforePark;
+        this.lockQueue = lockQueue;
+        queue = new MpscPendingPostQueue();
     }
 
     public void enqueue(Subscription subscription, Object event) {
         PendingPost pendingPost = PendingPost.obtainPendingPost(subscription, event);
-        synchronized (this) {
-            queue.enqueue(pendingPost);
-            if (!executorRunning) {
-                executorRunning = true;
+        enqueueAll(pendingPost, pendingPost, 1);
+    }
+
+    public void enqueueAll(PendingPost first, PendingPost last, int count) {
+        queue.enqueueAll(first, last);
+        while (true) {
+            int currentState = state.get();
+            if (currentState == RUNNING) {
+                return;
+            } else if (currentState == PARKED) {
+                if (state.compareAndSet(PARKED, RUNNING)) {
+                    LockSupport.unpark(consumerThread);
+                    return;
+                }
+            } else if (state.compareAndSet(IDLE, RUNNING)) {
                 eventBus.getExecutorService().execute(this);
+                return;
             }
         }
     }
 
+    public PendingPost pollOldest() {
+        return lockQueue ? poll() : null;
+    }
+
+    private PendingPost poll() {
+        if (!lockQueue) {
+            return queue.poll();
+        }
+        synchronized (queue) {
+            return queue.poll();
+        }
+    }
+
+    private boolean isQueueEmpty() {
+        if (!lockQueue) {
+            return queue.isEmpty();
+        }
+        synchronized (queue) {
+            return queue.isEmpty();
+        }
+    }
+
+    public boolean isDeliveryThread() {
+        return consumerThread == Thread.currentThread();
+    }
+
     @Override
     public void run() {
+        consumerThread = Thread.currentThread();
+        boolean stopped = false;
         try {
-            try {
-                while (true) {
-                    PendingPost pendingPost = queue.poll(1000);
-                    if (pendingPost == null) {
-                        synchronized (this) {
-                            // Check again, this time in synchronized
-                            pendingPost = queue.poll();
-                            if (pendingPost == null) {
-                                executorRunning = false;
-                                return;
-                            }
-                        }
-                    }
+            while (true) {
+                PendingPost pendingPost = poll();
+                if (pendingPost != null) {
                     eventBus.invokeSubscriber(pendingPost);
+                } else if (!awaitPendingPost()) {
+                    stopped = true;
+                    return;
                 }
-            } catch (InterruptedException e) {
-                eventBus.getLogger().log(Level.WARNING, Thread.currentThread().getName() + " was interruppted", e);
             }
         } finally {
-            executorRunning = false;
+            if (!stopped) {
+                // A subscriber exception escaped (see EventBusBuilder#throwSubscriberException)
+                consumerThread = null;
+                state.set(IDLE);
+            }
+        }
+    }
+
+    /**
+     * Waits for the next pending post. Only posting threads change the state while the consumer is parked or idle,
+     * so the consumer may set it unconditionally while running.
+     *
+     * @return false if the consumer went idle, i.e. it should return its thread to the executor
+     */
+    private boolean awaitPendingPost() {
+        for (int i = 0; i < spinsBeforePark; i++) {
+            if (!isQueueEmpty()) {
+                return true;
+            }
+        }
+        long deadline = System.nanoTime() + keepAliveNanos;
+        while (isQueueEmpty()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return !goIdle();
+            }
+            state.set(PARKED);
+            // Check again: a posting thread may have enqueued after the last check but seen us running
+            if (isQueueEmpty()) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            // Fails if a posting thread already switched to RUNNING (its unpark is harmless)
+            state.compareAndSet(PARKED, RUNNING);
+            if (Thread.interrupted()) {
+                eventBus.getLogger().log(Level.WARNING, Thread.currentThread().getName() + " was interrupted");
+                return !goIdle();
+            }
+        }
+        return true;
+    }
+
+    /** @return true if the consumer is idle now; false if it has to continue with a pending post */
+    private boolean goIdle() {
+        Thread thread = consumerThread;
+        // Clear before going idle to not interfere with the next consumer (only unparking reads it, not while running)
+        consumerThread = null;
+        state.set(IDLE);
+        // Posting threads seeing IDLE start a new task; this covers those who still saw us running
+        if (isQueueEmpty() || !state.compareAndSet(IDLE, RUNNING)) {
+            return true;
         }
+        consumerThread = thread;
+        return false;
     }
 
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the events of a batch-consuming subscription, see {@link Subscribe#maxBatchSize()}. A single pending post
+ * carrying the batcher stands for all collected events; its delivery takes up to maxBatchSize of them. While the
+ * pending post waits in the poster's queue, further events join the batch.
+ */
+final class Batcher {
+    private static final int IDLE = 0;
+    /** A flush is scheduled after the linger time. */
+    private static final int LINGERING = 1;
+    /** The pending post is queued (or being delivered directly). */
+    private static final int QUEUED = 2;
+
+    private final EventBus eventBus;
+    private final Subscription subscription;
+    private final int maxBatchSize;
+    private final long maxLingerMillis;
+
+    /** Guarded by this. */
+    private List<Object> events = new ArrayList<>();
+    private int state;
+    /** Identifies the current linger period; flushes scheduled for earlier periods are void. */
+    private int lingerGeneration;
+
+    Batcher(EventBus eventBus, Subscription subscription, int maxBatchSize, long maxLingerMillis) {
+        this.eventBus = eventBus;
+        this.subscription = subscription;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerMillis = maxLingerMillis;
+    }
+
+    /** Adds a retained event and queues the batch if it is full or must not linger. */
+    void add(Object event, EventBus.PostingThreadState postingState) {
+        int action;
+        int generation;
+        synchronized (this) {
+            events.add(event);
+            action = nextAction();
+            generation = lingerGeneration;
+        }
+        act(action, generation, postingState);
+    }
+
+    /**
+     * Takes the next batch for delivery; called for the batcher's pending post.
+     *
+     * @return the batch, owned by the caller
+     */
+    List<Object> take() {
+        List<Object> batch;
+        int action;
+        int generation;
+        synchronized (this) {
+            int size = events.size();
+            if (size <= maxBatchSize) {
+                batch = events;
+                events = new ArrayList<>();
+            } else {
+                List<Object> head = events.subList(0, maxBatchSize);
+                batch = new ArrayList<>(head);
+                head.clear();
+            }
+            state = IDLE;
+            action = events.isEmpty() ? IDLE : nextAction();
+            generation = lingerGeneration;
+        }
+        act(action, generation, null);
+        return batch;
+    }
+
+    /** Guarded by this; moves to the next state after events were added or taken. */
+    private int nextAction() {
+        if (state == IDLE) {
+            if (events.size() >= maxBatchSize || maxLingerMillis == 0) {
+                state = QUEUED;
+            } else {
+                state = LINGERING;
+                lingerGeneration++;
+            }
+            return state;
+        } else if (state == LINGERING && events.size() >= maxBatchSize) {
+            state = QUEUED;
+            return QUEUED;
+        }
+        return IDLE;
+    }
+
+    private void act(int action, int generation, EventBus.PostingThreadState postingState) {
+        if (action == QUEUED) {
+            eventBus.enqueueBatch(subscription, this, postingState);
+        } else if (action == LINGERING) {
+            eventBus.getTimingWheel().schedule(new Flush(generation), maxLingerMillis);
+        }
+    }
+
+    /** Queues the batch after the linger time, unless it was queued in the meantime. */
+    private final class Flush implements Runnable {
+        private final int generation;
+
+        Flush(int generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        public void run() {
+            synchronized (Batcher.this) {
+                if (state != LINGERING || lingerGeneration != generation) {
+                    return;
+                }
+                state = QUEUED;
+            }
+            eventBus.enqueueBatch(subscription, Batcher.this, null);
+        }
+    }
+}
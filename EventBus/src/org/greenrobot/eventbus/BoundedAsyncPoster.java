@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Posts events in background to a single ASYNC subscription with at most {@link Subscribe#maxConcurrency()}
+ * invocations in flight. Excess events stay queued until one of the worker tasks draining the queue gets to them.
+ */
+final class BoundedAsyncPoster implements Runnable, Poster {
+
+    private final PendingPostQueue queue;
+    private final EventBus eventBus;
+    private final int maxConcurrency;
+    private final AtomicInteger workerCount = new AtomicInteger();
+
+    BoundedAsyncPoster(EventBus eventBus, int maxConcurrency) {
+        this.eventBus = eventBus;
+        this.maxConcurrency = maxConcurrency;
+        queue = new PendingPostQueue();
+    }
+
+    public void enqueue(Subscription subscription, Object event) {
+        PendingPost pendingPost = PendingPost.obtainPendingPost(subscription, event);
+        enqueueAll(pendingPost, pendingPost, 1);
+    }
+
+    public void enqueueAll(PendingPost first, PendingPost last, int count) {
+        queue.enqueueAll(first, last);
+        for (int i = 0; i < count && tryAddWorker(); i++) {
+            eventBus.getAsyncExecutorService().execute(this);
+        }
+    }
+
+    private boolean tryAddWorker() {
+        while (true) {
+            int count = workerCount.get();
+            if (count >= maxConcurrency) {
+                return false;
+            }
+            if (workerCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public PendingPost pollOldest() {
+        return queue.poll();
+    }
+
+    public boolean isDeliveryThread() {
+        // Workers deliver to a single subscription, so its limit knows its delivering threads already
+        return false;
+    }
+
+    @Override
+    public void run() {
+        boolean stopped = false;
+        try {
+            while (true) {
+                PendingPost pendingPost = queue.poll();
+                if (pendingPost == null) {
+                    workerCount.decrementAndGet();
+                    // Check again: a posting thread may have enqueued meanwhile, but seen all workers running
+                    if (queue.isEmpty() || !tryAddWorker()) {
+                        stopped = true;
+                        return;
+                    }
+                    continue;
+                }
+                eventBus.invokeSubscriber(pendingPost);
+            }
+        } finally {
+            if (!stopped) {
+                // A subscriber exception escaped (see EventBusBuilder#throwSubscriberException)
+                workerCount.decrementAndGet();
+                if (!queue.isEmpty() && tryAddWorker()) {
+                    eventBus.getAsyncExecutorService().execute(this);
+                }
+            }
+        }
+    }
+
+}
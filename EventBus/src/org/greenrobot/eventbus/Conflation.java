@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the queued events of a conflating subscription, see {@link Subscribe#conflate()}. Pending posts do not carry
+ * the event itself but its {@link Entry}, so a newer event with the same key replaces the queued one in place.
+ */
+final class Conflation {
+    /** Stands in for null keys in the map. */
+    private static final Object NULL_KEY = new Object();
+
+    private final KeyExtractor<Object> keyExtractor;
+    /** Guarded by this. */
+    private final Map<Object, Entry> entries = new HashMap<>();
+
+    /** @param keyExtractor accepts the events of the subscription, which all have its event type */
+    @SuppressWarnings("unchecked")
+    Conflation(KeyExtractor<?> keyExtractor) {
+        this.keyExtractor = (KeyExtractor<Object>) keyExtractor;
+    }
+
+    /**
+     * Offers a retained event for queuing. If it replaces the event of a queued entry, the replaced event is released.
+     *
+     * @return a new entry to be queued, or null if the event took the place of a queued one
+     */
+    Entry offer(Object event) {
+        Object key = keyExtractor != null ? keyExtractor.getKey(event) : null;
+        if (key == null) {
+            key = NULL_KEY;
+        }
+        Object replaced;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key, event);
+                entries.put(key, entry);
+                return entry;
+            }
+            replaced = entry.event;
+            entry.event = event;
+        }
+        EventBus.releaseEvent(replaced);
+        return null;
+    }
+
+    /** Takes the latest event of a dequeued entry; newer events with its key get a new entry. */
+    synchronized Object take(Entry entry) {
+        entries.remove(entry.key);
+        return entry.event;
+    }
+
+    static final class Entry {
+        final Object key;
+        /** Guarded by the conflation. */
+        Object event;
+
+        Entry(Object key, Object event) {
+            this.key = key;
+            this.event = event;
+        }
+    }
+}
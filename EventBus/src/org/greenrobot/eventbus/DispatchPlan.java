@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+/**
+ * The subscriptions an event class is delivered to, in delivery order. Plans are immutable snapshots; once a
+ * subscription relevant to the event class changes, the plan is marked stale and replaced by a new one.
+ */
+final class DispatchPlan {
+    final Class<?> eventClass;
+    final Subscription[] subscriptions;
+
+    /** Set (while holding the EventBus lock) when this plan was replaced, e.g. to let publishers re-resolve. */
+    volatile boolean stale;
+
+    /** Set once the missing subscribers were logged (empty plans only); racy, logging twice is harmless. */
+    boolean noSubscriberLogged;
+
+    // For aggregated NoSubscriberEvents (empty plans only), guarded by this plan
+    private boolean noSubscriberEventPosted;
+    private long noSubscriberEventNanos;
+    private int unreportedEventCount;
+
+    DispatchPlan(Class<?> eventClass, Subscription[] subscriptions) {
+        this.eventClass = eventClass;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Counts an event posted without subscribers.
+     *
+     * @return the number of events a NoSubscriberEvent should report now, or 0 if the interval did not pass yet
+     */
+    synchronized int countEventWithoutSubscribers(long intervalNanos) {
+        unreportedEventCount++;
+        long now = System.nanoTime();
+        if (noSubscriberEventPosted && now - noSubscriberEventNanos < intervalNanos) {
+            return 0;
+        }
+        noSubscriberEventPosted = true;
+        noSubscriberEventNanos = now;
+        int eventCount = unreportedEventCount;
+        unreportedEventCount = 0;
+        return eventCount;
+    }
+}
@@ -17,13 +17,19 @@ package org.greenrobot.eventbus;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 /**
@@ -45,16 +51,46 @@ public class EventBus {
     static volatile EventBus defaultInstance;
 
     private static final EventBusBuilder DEFAULT_BUILDER = new EventBusBuilder();
-    private static final Map<Class<?>, List<Class<?>>> eventTypesCache = new HashMap<>();
+    /** Class hierarchies never change, so entries are computed once and read without locking by all buses. */
+    private static final Map<Class<?>, Class<?>[]> eventTypesCache = new ConcurrentHashMap<>();
 
+    /**
+     * Modified only while holding the lock of this EventBus. Posting uses {@link #dispatchPlans} derived from it;
+     * other readers may access it without locking as the map is concurrent and the lists are copy-on-write.
+     */
     private final Map<Class<?>, CopyOnWriteArrayList<Subscription>> subscriptionsByEventType;
+    /**
+     * Dispatch plans (flat subscription arrays) per posted event class, merged across the class hierarchy (if event
+     * inheritance is enabled) in delivery order. Created on demand while holding the lock, and removed and marked
+     * stale as soon as a subscription relevant to the event class changes.
+     */
+    private final Map<Class<?>, DispatchPlan> dispatchPlans;
+    /** With event inheritance, indexes the event classes of {@link #dispatchPlans}. Guarded by this. */
+    private final TypeIndex dispatchPlanIndex;
     private final Map<Object, List<Class<?>>> typesBySubscriber;
     private final Map<Class<?>, Object> stickyEvents;
+    /**
+     * With event inheritance, indexes the event classes of {@link #stickyEvents}, so registering a sticky subscriber
+     * only visits matching sticky events. Guarded by stickyEvents.
+     */
+    private final TypeIndex stickyEventIndex;
+    /** See {@link EventBusBuilder#stickyHistory(Class, int)}. */
+    private final Map<Class<?>, Integer> stickyHistoryCapacities;
+    private final int stickyHistoryBudget;
+    /**
+     * Sticky histories by event class, ordered from least to most recently posted to. Guarded by stickyEvents, like
+     * stickyHistorySize (the number of events in all histories).
+     */
+    private final Map<Class<?>, StickyHistory> stickyHistories;
+    private int stickyHistorySize;
 
     private final ThreadLocal<PostingThreadState> currentPostingThreadState = new ThreadLocal<PostingThreadState>() {
         @Override
         protected PostingThreadState initialValue() {
-            return new PostingThreadState();
+            PostingThreadState postingState = new PostingThreadState();
+            // Virtual threads are typically short-lived and may come by the millions
+            postingState.removeAfterPosting = VirtualThreads.isVirtual(Thread.currentThread());
+            return postingState;
         }
     };
 
@@ -62,17 +98,24 @@ public class EventBus {
     private final MainThreadSupport mainThreadSupport;
     // @Nullable
     private final Poster mainThreadPoster;
-    private final BackgroundPoster backgroundPoster;
-    private final AsyncPoster asyncPoster;
+    /** Serial BACKGROUND lanes; each subscriber is assigned to one of them. */
+    private final Poster[] backgroundPosters;
+    private final Poster asyncPoster;
     private final SubscriberMethodFinder subscriberMethodFinder;
     private final ExecutorService executorService;
+    /** Runs ASYNC deliveries; differs from executorService if virtual threads are used. */
+    private final ExecutorService asyncExecutorService;
+    /** Runs timers like debouncing; its thread starts on first use. */
+    private final TimingWheel timingWheel;
 
     private final boolean throwSubscriberException;
     private final boolean logSubscriberExceptions;
     private final boolean logNoSubscriberMessages;
+    private final long noSubscriberEventIntervalNanos;
     private final boolean sendSubscriberExceptionEvent;
     private final boolean sendNoSubscriberEvent;
     private final boolean eventInheritance;
+    private final boolean invokeUsingReflection;
 
     private final int indexCount;
     private final Logger logger;
@@ -111,23 +154,63 @@ public class EventBus {
 
     EventBus(EventBusBuilder builder) {
         logger = builder.getLogger();
-        subscriptionsByEventType = new HashMap<>();
+        subscriptionsByEventType = new ConcurrentHashMap<>();
+        dispatchPlans = new ConcurrentHashMap<>();
+        dispatchPlanIndex = builder.eventInheritance ? new TypeIndex() : null;
         typesBySubscriber = new HashMap<>();
         stickyEvents = new ConcurrentHashMap<>();
+        stickyEventIndex = builder.eventInheritance ? new TypeIndex() : null;
+        stickyHistoryCapacities = new HashMap<>(builder.stickyHistoryCapacities);
+        stickyHistoryBudget = builder.stickyHistoryBudget;
+        stickyHistories = new LinkedHashMap<>();
         mainThreadSupport = builder.getMainThreadSupport();
-        mainThreadPoster = mainThreadSupport != null ? mainThreadSupport.createPoster(this) : null;
-        backgroundPoster = new BackgroundPoster(this);
-        asyncPoster = new AsyncPoster(this);
+        mainThreadPoster = mainThreadSupport != null ?
+                limit(mainThreadSupport.createPoster(this), builder, ThreadMode.MAIN) : null;
+        RingBufferPoster.Config backgroundRingBuffer = builder.ringBufferConfigs.get(ThreadMode.BACKGROUND);
+        long keepAliveNanos = TimeUnit.MILLISECONDS.toNanos(builder.backgroundKeepAliveMillis);
+        EventBusBuilder.QueueConfig backgroundQueue = builder.queueConfigs.get(ThreadMode.BACKGROUND);
+        boolean backgroundDropOldest = backgroundQueue != null &&
+                backgroundQueue.overflowPolicy == OverflowPolicy.DROP_OLDEST;
+        backgroundPosters = new Poster[builder.backgroundLaneCount];
+        for (int i = 0; i < backgroundPosters.length; i++) {
+            Poster poster = backgroundRingBuffer != null ?
+                    new RingBufferPoster(this, backgroundRingBuffer, true, keepAliveNanos,
+                            builder.backgroundSpinsBeforePark) :
+                    new BackgroundPoster(this, keepAliveNanos, builder.backgroundSpinsBeforePark, backgroundDropOldest);
+            backgroundPosters[i] = limit(poster, builder, ThreadMode.BACKGROUND);
+        }
+        RingBufferPoster.Config asyncRingBuffer = builder.ringBufferConfigs.get(ThreadMode.ASYNC);
+        asyncPoster = limit(asyncRingBuffer != null ? new RingBufferPoster(this, asyncRingBuffer, false, 0, 0) :
+                new AsyncPoster(this), builder, ThreadMode.ASYNC);
         indexCount = builder.subscriberInfoIndexes != null ? builder.subscriberInfoIndexes.size() : 0;
         subscriberMethodFinder = new SubscriberMethodFinder(builder.subscriberInfoIndexes,
                 builder.strictMethodVerification, builder.ignoreGeneratedIndex);
         logSubscriberExceptions = builder.logSubscriberExceptions;
         logNoSubscriberMessages = builder.logNoSubscriberMessages;
+        noSubscriberEventIntervalNanos = TimeUnit.MILLISECONDS.toNanos(builder.noSubscriberEventIntervalMillis);
         sendSubscriberExceptionEvent = builder.sendSubscriberExceptionEvent;
         sendNoSubscriberEvent = builder.sendNoSubscriberEvent;
         throwSubscriberException = builder.throwSubscriberException;
         eventInheritance = builder.eventInheritance;
+        invokeUsingReflection = builder.invokeUsingReflection;
         executorService = builder.executorService;
+        ExecutorService virtualThreadExecutor = builder.asyncVirtualThreads ? VirtualThreads.getExecutorService() : null;
+        if (builder.asyncVirtualThreads && virtualThreadExecutor == null) {
+            logger.log(Level.INFO, "Virtual threads are not supported, ASYNC delivery uses the executor service");
+        }
+        timingWheel = new TimingWheel(builder.timerTickMillis, logger);
+        asyncExecutorService = virtualThreadExecutor != null ? virtualThreadExecutor : executorService;
+    }
+
+    /** Applies the queue capacity configured for the thread mode, if any; each poster gets its own limit. */
+    private static Poster limit(Poster poster, EventBusBuilder builder, ThreadMode threadMode) {
+        EventBusBuilder.QueueConfig queueConfig = builder.queueConfigs.get(threadMode);
+        if (queueConfig == null) {
+            return poster;
+        } else if (poster instanceof RingBufferPoster) {
+            throw new EventBusException("Ring buffer posters are bounded by their capacity: " + threadMode);
+        }
+        return new LimitedPoster(poster, new QueueLimit(queueConfig.capacity, queueConfig.overflowPolicy));
     }
 
     /**
@@ -137,21 +220,50 @@ public class EventBus {
      * Subscribers have event handling methods that must be annotated by {@link Subscribe}.
      * The {@link Subscribe} annotation also allows configuration like {@link
      * ThreadMode} and priority.
+     * <p/>
+     * Sticky events are delivered to {@link Subscribe#sticky()} methods after the subscriber was registered, without
+     * holding the lock that posting needs. Events posted to a sticky method while its sticky events are delivered are
+     * held back and delivered afterwards (by the registering thread), so they are not overtaken by older sticky events.
      */
     public void register(Object subscriber) {
         Class<?> subscriberClass = subscriber.getClass();
         List<SubscriberMethod> subscriberMethods = subscriberMethodFinder.findSubscriberMethods(subscriberClass);
+        List<Subscription> stickySubscriptions = null;
         synchronized (this) {
             for (SubscriberMethod subscriberMethod : subscriberMethods) {
-                subscribe(subscriber, subscriberMethod);
+                Subscription subscription = subscribe(subscriber, subscriberMethod);
+                if (subscriberMethod.sticky) {
+                    if (stickySubscriptions == null) {
+                        stickySubscriptions = new ArrayList<>();
+                    }
+                    stickySubscriptions.add(subscription);
+                }
+            }
+        }
+        if (stickySubscriptions != null) {
+            int size = stickySubscriptions.size();
+            int i = 0;
+            try {
+                for (; i < size; i++) {
+                    replayStickyEvents(stickySubscriptions.get(i));
+                }
+            } finally {
+                // Only if the subscriber's exception is rethrown: stop holding back events for the subscriptions left
+                for (i++; i < size; i++) {
+                    releaseHeldEvents(stickySubscriptions.get(i).endReplay());
+                }
             }
         }
     }
 
     // Must be called in synchronized block
-    private void subscribe(Object subscriber, SubscriberMethod subscriberMethod) {
+    private Subscription subscribe(Object subscriber, SubscriberMethod subscriberMethod) {
         Class<?> eventType = subscriberMethod.eventType;
-        Subscription newSubscription = new Subscription(subscriber, subscriberMethod);
+        Poster boundedAsyncPoster = subscriberMethod.threadMode == ThreadMode.ASYNC &&
+                subscriberMethod.maxConcurrency > 0 ? new BoundedAsyncPoster(this, subscriberMethod.maxConcurrency) :
+                null;
+        Subscription newSubscription = new Subscription(this, subscriber, subscriberMethod,
+                boundedAsyncPoster);
         CopyOnWriteArrayList<Subscription> subscriptions = subscriptionsByEventType.get(eventType);
         if (subscriptions == null) {
             subscriptions = new CopyOnWriteArrayList<>();
@@ -162,6 +274,10 @@ public class EventBus {
                         + eventType);
             }
         }
+        if (subscriberMethod.sticky) {
+            // Collected before the subscription becomes visible, so later posts are held back behind them
+            newSubscription.startReplay(collectStickyEvents(eventType, subscriberMethod.replay));
+        }
 
         int size = subscriptions.size();
         for (int i = 0; i <= size; i++) {
@@ -170,6 +286,7 @@ public class EventBus {
                 break;
             }
         }
+        invalidateDispatchPlans(eventType);
 
         List<Class<?>> subscribedEvents = typesBySubscriber.get(subscriber);
         if (subscribedEvents == null) {
@@ -177,33 +294,229 @@ public class EventBus {
             typesBySubscriber.put(subscriber, subscribedEvents);
         }
         subscribedEvents.add(eventType);
+        return newSubscription;
+    }
 
-        if (subscriberMethod.sticky) {
-            if (eventInheritance) {
-                // Existing sticky events of all subclasses of eventType have to be considered.
-                // Note: Iterating over all events may be inefficient with lots of sticky events,
-                // thus data structure should be changed to allow a more efficient lookup
-                // (e.g. an additional map storing sub classes of super classes: Class -> List<Class>).
-                Set<Map.Entry<Class<?>, Object>> entries = stickyEvents.entrySet();
-                for (Map.Entry<Class<?>, Object> entry : entries) {
-                    Class<?> candidateEventType = entry.getKey();
-                    if (eventType.isAssignableFrom(candidateEventType)) {
-                        Object stickyEvent = entry.getValue();
-                        checkPostStickyEventToSubscription(newSubscription, stickyEvent);
+    /**
+     * Collects the sticky events to replay to a new subscription of the given event type, each one retained. Sticky
+     * histories are added as {@link StickyHistory.Replay}s, lazy sticky events as {@link LazyStickyReplay}s.
+     *
+     * @param replay see {@link Subscribe#replay()}
+     */
+    private List<Object> collectStickyEvents(Class<?> eventType, int replay) {
+        List<Object> events = new ArrayList<>();
+        if (eventInheritance) {
+            // Existing sticky events of all subclasses of eventType have to be considered
+            for (Class<?> stickyEventType : getStickyEventTypes(eventType)) {
+                addStickyEvent(events, stickyEventType, replay);
+            }
+        } else {
+            addStickyEvent(events, eventType, replay);
+        }
+        return events;
+    }
+
+    private void addStickyEvent(List<Object> events, Class<?> eventType, int replay) {
+        Object stickyEvent = stickyEvents.get(eventType);
+        if (stickyEvent instanceof LazyStickyEvent) {
+            // The supplier must not run under the lock: the event is created when it is replayed
+            events.add(new LazyStickyReplay(eventType, (LazyStickyEvent) stickyEvent, replay));
+        } else if (stickyEvent != null) {
+            addStickyEvent(events, eventType, stickyEvent, replay);
+        }
+    }
+
+    private void addStickyEvent(List<Object> events, Class<?> eventType, Object stickyEvent, int replay) {
+        if (replay > 1) {
+            synchronized (stickyEvents) {
+                StickyHistory history = stickyHistories.get(eventType);
+                // Unless the sticky event was replaced in the meantime, the history ends with it
+                if (history != null && history.getNewestEvent() == stickyEvent) {
+                    events.add(history.replay(Math.min(replay, history.size())));
+                    return;
+                }
+            }
+        }
+        if (retainStickyEvent(eventType, stickyEvent)) {
+            events.add(stickyEvent);
+        }
+    }
+
+    /**
+     * Delivers the sticky events collected for a new subscription, followed by the events held back in the meantime.
+     * Called without holding the lock.
+     */
+    private void replayStickyEvents(Subscription subscription) {
+        boolean isMainThread = isMainThread();
+        List<Object> events;
+        while ((events = subscription.takeHeldEvents()) != null) {
+            int size = events.size();
+            int i = 0;
+            try {
+                for (; i < size; i++) {
+                    Object event = events.get(i);
+                    if (event instanceof StickyHistory.Replay) {
+                        replayStickyHistory(subscription, (StickyHistory.Replay) event, isMainThread);
+                    } else if (event instanceof LazyStickyReplay) {
+                        replayLazyStickyEvent(subscription, (LazyStickyReplay) event, isMainThread);
+                    } else {
+                        deliverHeldEvent(subscription, event, isMainThread);
                     }
                 }
+            } finally {
+                if (i < size) {
+                    // The subscriber's exception is rethrown: stop holding back events
+                    releaseHeldEvents(events.subList(i + 1, size));
+                    releaseHeldEvents(subscription.endReplay());
+                }
+            }
+        }
+    }
+
+    /** Creates a lazy sticky event collected for a subscription and delivers it like any other sticky event. */
+    private void replayLazyStickyEvent(Subscription subscription, LazyStickyReplay lazyReplay, boolean isMainThread) {
+        Object event = createStickyEvent(lazyReplay.eventType, lazyReplay.lazyStickyEvent);
+        List<Object> events = new ArrayList<>(1);
+        addStickyEvent(events, lazyReplay.eventType, event, lazyReplay.replay);
+        if (!events.isEmpty()) {
+            Object stickyEvent = events.get(0);
+            if (stickyEvent instanceof StickyHistory.Replay) {
+                replayStickyHistory(subscription, (StickyHistory.Replay) stickyEvent, isMainThread);
+            } else {
+                deliverHeldEvent(subscription, stickyEvent, isMainThread);
+            }
+        }
+    }
+
+    /** Delivers the events of a sticky history in posting order, directly from the history. */
+    private void replayStickyHistory(Subscription subscription, StickyHistory.Replay replay, boolean isMainThread) {
+        StickyHistory.Node node = replay.first;
+        int i = 0;
+        try {
+            for (; i < replay.count; i++) {
+                deliverHeldEvent(subscription, node.event, isMainThread);
+                node = node.next;
+            }
+        } finally {
+            // Only if the subscriber's exception is rethrown: release the events following the failed one
+            for (i++; i < replay.count; i++) {
+                node = node.next;
+                releaseEvent(node.event);
+            }
+        }
+    }
+
+    /** Delivers an event held back for a replaying subscription and releases it. */
+    private void deliverHeldEvent(Subscription subscription, Object event, boolean isMainThread) {
+        try {
+            if (subscription.active) {
+                // If the subscriber is trying to abort the event, it will fail (event is not tracked in posting state)
+                // --> Strange corner case, which we don't take care of here.
+                deliverToSubscription(subscription, event, isMainThread, null);
+            }
+        } finally {
+            releaseEvent(event);
+        }
+    }
+
+    private static void releaseHeldEvents(List<Object> events) {
+        for (Object event : events) {
+            if (event instanceof StickyHistory.Replay) {
+                StickyHistory.Replay replay = (StickyHistory.Replay) event;
+                StickyHistory.Node node = replay.first;
+                for (int i = 0; i < replay.count; i++) {
+                    releaseEvent(node.event);
+                    node = node.next;
+                }
             } else {
-                Object stickyEvent = stickyEvents.get(eventType);
-                checkPostStickyEventToSubscription(newSubscription, stickyEvent);
+                releaseEvent(event);
+            }
+        }
+    }
+
+    /** @return the classes of the sticky events assignable to the given event type, in the order they were added */
+    Class<?>[] getStickyEventTypes(Class<?> eventType) {
+        synchronized (stickyEvents) {
+            return stickyEventIndex.get(eventType);
+        }
+    }
+
+    /** Puts the sticky event and indexes its type if it is new. Guarded by stickyEvents. */
+    private Object putStickyEvent(Class<?> eventType, Object stickyEvent) {
+        Object previousEvent = stickyEvents.put(eventType, stickyEvent);
+        if (previousEvent == null && stickyEventIndex != null) {
+            stickyEventIndex.add(eventType, lookupAllEventTypes(eventType));
+        }
+        return previousEvent;
+    }
+
+    /** Removes the sticky event of the given type and its history. Guarded by stickyEvents. */
+    private void removeStickyEventType(Class<?> eventType) {
+        if (stickyEvents.remove(eventType) != null && stickyEventIndex != null) {
+            stickyEventIndex.remove(eventType, lookupAllEventTypes(eventType));
+        }
+        StickyHistory history = stickyHistories.remove(eventType);
+        if (history != null) {
+            clearStickyHistory(history);
+        }
+    }
+
+    /**
+     * Adds a new sticky event to the history of its type, if configured, and drops the oldest events exceeding the
+     * budget. Guarded by stickyEvents.
+     */
+    private void addToStickyHistory(Class<?> eventType, Object event) {
+        Integer capacity = stickyHistoryCapacities.get(eventType);
+        if (capacity == null) {
+            return;
+        }
+        // Re-insert to keep the histories ordered by their last post
+        StickyHistory history = stickyHistories.remove(eventType);
+        if (history == null) {
+            history = new StickyHistory(capacity);
+        }
+        stickyHistories.put(eventType, history);
+        retainEvent(event);
+        Object droppedEvent = history.add(event);
+        if (droppedEvent != null) {
+            releaseEvent(droppedEvent);
+        } else {
+            stickyHistorySize++;
+        }
+        if (stickyHistoryBudget > 0) {
+            Iterator<StickyHistory> histories = stickyHistories.values().iterator();
+            while (stickyHistorySize > stickyHistoryBudget) {
+                StickyHistory leastRecentlyPosted = histories.next();
+                while (stickyHistorySize > stickyHistoryBudget && !leastRecentlyPosted.isEmpty()) {
+                    releaseEvent(leastRecentlyPosted.removeOldest());
+                    stickyHistorySize--;
+                }
+                if (leastRecentlyPosted.isEmpty()) {
+                    histories.remove();
+                }
             }
         }
     }
 
-    private void checkPostStickyEventToSubscription(Subscription newSubscription, Object stickyEvent) {
-        if (stickyEvent != null) {
-            // If the subscriber is trying to abort the event, it will fail (event is not tracked in posting state)
-            // --> Strange corner case, which we don't take care of here.
-            postToSubscription(newSubscription, stickyEvent, isMainThread());
+    /** Guarded by stickyEvents. */
+    private void clearStickyHistory(StickyHistory history) {
+        while (!history.isEmpty()) {
+            releaseEvent(history.removeOldest());
+            stickyHistorySize--;
+        }
+    }
+
+    /** Retains a pooled sticky event for delivery, unless it was removed (and maybe recycled) in the meantime. */
+    private boolean retainStickyEvent(Class<?> eventType, Object stickyEvent) {
+        if (!(stickyEvent instanceof RecyclableEvent)) {
+            return true;
+        }
+        synchronized (stickyEvents) {
+            if (stickyEvents.get(eventType) != stickyEvent) {
+                return false;
+            }
+            ((RecyclableEvent) stickyEvent).retain();
+            return true;
         }
     }
 
@@ -235,9 +548,61 @@ public class EventBus {
                     size--;
                 }
             }
+            invalidateDispatchPlans(eventType);
         }
     }
 
+    /** Removes the dispatch plans of all event classes delivered to subscribers of the given type. Requires lock. */
+    private void invalidateDispatchPlans(Class<?> eventType) {
+        if (eventInheritance) {
+            for (Class<?> eventClass : dispatchPlanIndex.get(eventType)) {
+                dispatchPlans.remove(eventClass).stale = true;
+                dispatchPlanIndex.remove(eventClass, lookupAllEventTypes(eventClass));
+            }
+        } else {
+            DispatchPlan plan = dispatchPlans.remove(eventType);
+            if (plan != null) {
+                plan.stale = true;
+            }
+        }
+    }
+
+    /** Gets the subscriptions an event of the given class is delivered to, in delivery order. */
+    DispatchPlan getDispatchPlan(Class<?> eventClass) {
+        DispatchPlan plan = dispatchPlans.get(eventClass);
+        if (plan == null) {
+            // Create the plan while holding the lock so it can't miss a concurrent invalidation
+            synchronized (this) {
+                plan = dispatchPlans.get(eventClass);
+                if (plan == null) {
+                    plan = new DispatchPlan(eventClass, createDispatchPlan(eventClass));
+                    dispatchPlans.put(eventClass, plan);
+                    if (dispatchPlanIndex != null) {
+                        dispatchPlanIndex.add(eventClass, lookupAllEventTypes(eventClass));
+                    }
+                }
+            }
+        }
+        return plan;
+    }
+
+    // Must be called in synchronized block
+    private Subscription[] createDispatchPlan(Class<?> eventClass) {
+        if (!eventInheritance) {
+            CopyOnWriteArrayList<Subscription> subscriptions = subscriptionsByEventType.get(eventClass);
+            return subscriptions != null ? subscriptions.toArray(new Subscription[subscriptions.size()]) :
+                    new Subscription[0];
+        }
+        List<Subscription> plan = new ArrayList<>();
+        for (Class<?> eventType : lookupAllEventTypes(eventClass)) {
+            CopyOnWriteArrayList<Subscription> subscriptions = subscriptionsByEventType.get(eventType);
+            if (subscriptions != null) {
+                plan.addAll(subscriptions);
+            }
+        }
+        return plan.toArray(new Subscription[plan.size()]);
+    }
+
     /** Unregisters the given subscriber from all event classes. */
     public synchronized void unregister(Object subscriber) {
         List<Class<?>> subscribedTypes = typesBySubscriber.get(subscriber);
@@ -254,22 +619,193 @@ public class EventBus {
     /** Posts the given event to the event bus. */
     public void post(Object event) {
         PostingThreadState postingState = currentPostingThreadState.get();
-        List<Object> eventQueue = postingState.eventQueue;
+        postingState.eventQueue.add(event);
+
+        if (!postingState.isPosting) {
+            postQueuedEvents(postingState, null);
+        }
+    }
+
+    /**
+     * Posts the given event like {@link #post(Object)}, but reports whether all deliveries to other threads were
+     * accepted. Deliveries are only rejected by full queues using {@link OverflowPolicy#REJECT}, see
+     * {@link EventBusBuilder#queueCapacity(ThreadMode, int, OverflowPolicy)} and {@link Subscribe#queueCapacity()}.
+     * Rejections of events posted by subscribers in the meantime (on the posting thread) are included.
+     * <p/>
+     * If called by a subscriber during posting, the event is only queued to be posted afterwards, so this always
+     * returns true then.
+     *
+     * @return false if at least one delivery was rejected
+     */
+    public boolean tryPost(Object event) {
+        PostingThreadState postingState = currentPostingThreadState.get();
+        postingState.eventQueue.add(event);
+
+        if (postingState.isPosting) {
+            return true;
+        }
+        postingState.rejected = false;
+        postQueuedEvents(postingState, null);
+        return !postingState.rejected;
+    }
+
+    /** Posts an event of exactly the plan's event class, see {@link Publisher}. */
+    void post(Object event, DispatchPlan dispatchPlan) {
+        PostingThreadState postingState = currentPostingThreadState.get();
+        EventQueue eventQueue = postingState.eventQueue;
+        // Only an event coming first in the queue can use the plan without looking it up again
+        boolean first = eventQueue.isEmpty();
         eventQueue.add(event);
 
         if (!postingState.isPosting) {
-            postingState.isMainThread = isMainThread();
-            postingState.isPosting = true;
-            if (postingState.canceled) {
-                throw new EventBusException("Internal error. Abort state was not reset");
+            postQueuedEvents(postingState, first ? dispatchPlan : null);
+        }
+    }
+
+    /**
+     * Posts the event created by the given supplier, but only if there are subscribers for the given event class
+     * (taking event inheritance into account). Use this for events that are expensive to create and often
+     * unobserved. As no event is created without subscribers, no {@link NoSubscriberEvent} is posted in that case.
+     *
+     * @return true if the event was created and posted
+     */
+    public <T> boolean post(Class<T> eventClass, EventSupplier<? extends T> eventSupplier) {
+        DispatchPlan plan = getDispatchPlan(eventClass);
+        if (plan.subscriptions.length == 0) {
+            return false;
+        }
+        T event = eventSupplier.get();
+        if (event.getClass() == eventClass) {
+            if (plan.stale) {
+                // The supplier (or another thread) changed the subscriptions meanwhile
+                plan = getDispatchPlan(eventClass);
             }
+            post(event, plan);
+        } else {
+            post(event);
+        }
+        return true;
+    }
+
+    /**
+     * Returns a publisher for events of the given class that keeps the resolved subscriptions until a relevant
+     * subscription is registered or unregistered. Intended for publishers that frequently post the same event class.
+     */
+    public <T> Publisher<T> publisherFor(Class<T> eventClass) {
+        return new Publisher<>(this, eventClass, getDispatchPlan(eventClass));
+    }
+
+    /**
+     * Posts a primitive signal to all signal subscriber methods, which are @{@link Subscribe} methods with the
+     * parameters (int key, long value). Typically, the key identifies what the value is about, like the "what" code of
+     * an Android Message; subscribers filter by key themselves. Unlike events, signals are delivered without
+     * allocating any objects (apart from pooled internal structures), also in other threads. Signals are never sticky,
+     * can't be canceled and without subscribers, no {@link NoSubscriberEvent} is posted. On Android (no
+     * java.lang.invoke) and with {@link EventBusBuilder#invokeUsingReflection(boolean)}, calling a subscriber method
+     * via reflection boxes key and value.
+     */
+    public void post(int key, long value) {
+        PostingThreadState postingState = currentPostingThreadState.get();
+        postingState.eventQueue.addSignal(key, value);
+
+        if (!postingState.isPosting) {
+            postQueuedEvents(postingState, null);
+        }
+    }
+
+    /**
+     * Posts the given events in the given order, like calling {@link #post(Object)} for each of them. Events posted
+     * by subscribers in the meantime are queued behind the remaining events of the batch. Deliveries to other threads
+     * (e.g. {@link ThreadMode#BACKGROUND}) are collected while the batch is posted and handed over to each poster at
+     * once after the last event. Thus, subscribers on other threads receive the batch's events in order, but only
+     * after all of them were posted.
+     */
+    public void postAll(Collection<?> events) {
+        PostingThreadState postingState = currentPostingThreadState.get();
+        EventQueue eventQueue = postingState.eventQueue;
+        for (Object event : events) {
+            eventQueue.add(event);
+        }
+
+        if (!postingState.isPosting) {
+            postingState.batching = true;
             try {
-                while (!eventQueue.isEmpty()) {
-                    postSingleEvent(eventQueue.remove(0), postingState);
-                }
+                postQueuedEvents(postingState, null);
             } finally {
-                postingState.isPosting = false;
-                postingState.isMainThread = false;
+                postingState.batching = false;
+                postingState.flushBatches();
+            }
+        }
+    }
+
+    /** Posts the given events in the given order, see {@link #postAll(Collection)}. */
+    public void postAll(Object... events) {
+        postAll(Arrays.asList(events));
+    }
+
+    /**
+     * Posts the given event after the given delay, see {@link ScheduledPost}. All scheduled posts of the bus share a
+     * hierarchical timing wheel, so scheduling and canceling are O(1) even with millions of pending posts. Posts are up
+     * to one tick late (see {@link EventBusBuilder#timerTickMillis(long)}).
+     *
+     * @return the scheduled post, which may be canceled
+     */
+    public ScheduledPost postDelayed(Object event, long delayMillis) {
+        ScheduledPost scheduledPost = new ScheduledPost(this, event, 0);
+        scheduledPost.schedule(delayMillis);
+        return scheduledPost;
+    }
+
+    /**
+     * Posts the given event at the given time in milliseconds since the epoch (as {@link System#currentTimeMillis()}),
+     * see {@link #postDelayed(Object, long)}. The time is converted to a delay once, so changes of the wall clock do
+     * not affect the scheduled post. Events scheduled for the past are posted right away.
+     */
+    public ScheduledPost postAt(Object event, long timeMillis) {
+        return postDelayed(event, timeMillis - System.currentTimeMillis());
+    }
+
+    /**
+     * Posts the given event after the initial delay and then repeatedly at the given period until the returned
+     * scheduled post is canceled, see {@link #postDelayed(Object, long)}. Like
+     * {@link java.util.concurrent.ScheduledExecutorService#scheduleAtFixedRate}, late posts do not shift the following
+     * ones.
+     */
+    public ScheduledPost postPeriodically(Object event, long initialDelayMillis, long periodMillis) {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("Period must be at least 1 ms: " + periodMillis);
+        }
+        ScheduledPost scheduledPost = new ScheduledPost(this, event, periodMillis);
+        scheduledPost.schedule(initialDelayMillis);
+        return scheduledPost;
+    }
+
+    /** @param firstPlan the dispatch plan of the first queued event if known already, or null */
+    private void postQueuedEvents(PostingThreadState postingState, DispatchPlan firstPlan) {
+        EventQueue eventQueue = postingState.eventQueue;
+        postingState.isMainThread = isMainThread();
+        postingState.isPosting = true;
+        if (postingState.canceled) {
+            throw new EventBusException("Internal error. Abort state was not reset");
+        }
+        try {
+            if (firstPlan != null) {
+                postSingleEvent(eventQueue.remove(), firstPlan, postingState);
+            }
+            while (!eventQueue.isEmpty()) {
+                Object event = eventQueue.remove();
+                if (event == EventQueue.SIGNAL) {
+                    postSignal(eventQueue.removedSignalKey, eventQueue.removedSignalValue, postingState);
+                } else {
+                    postSingleEvent(event, postingState);
+                }
+            }
+        } finally {
+            postingState.isPosting = false;
+            postingState.isMainThread = false;
+            if (postingState.removeAfterPosting) {
+                // Callers may still use the state object itself, e.g. to flush batches
+                currentPostingThreadState.remove();
             }
         }
     }
@@ -300,34 +836,97 @@ public class EventBus {
     /**
      * Posts the given event to the event bus and holds on to the event (because it is sticky). The most recent sticky
      * event of an event's type is kept in memory for future access by subscribers using {@link Subscribe#sticky()}.
+     * A {@link RecyclableEvent} is retained while it is the sticky event of its type. Event classes may keep more
+     * than the most recent sticky event, see {@link EventBusBuilder#stickyHistory(Class, int)}.
      */
     public void postSticky(Object event) {
+        Object previousEvent;
         synchronized (stickyEvents) {
-            stickyEvents.put(event.getClass(), event);
+            retainEvent(event);
+            previousEvent = putStickyEvent(event.getClass(), event);
+            addToStickyHistory(event.getClass(), event);
         }
+        releaseEvent(previousEvent);
         // Should be posted after it is putted, in case the subscriber wants to remove immediately
         post(event);
     }
 
+    /**
+     * Like {@link #postSticky(Object)}, but creates the event only once it is needed: right away if there are
+     * subscribers for the given event class, otherwise when a sticky subscriber registers or the sticky event is
+     * retrieved. Until then, the sticky event is kept for the given event class. The supplier is called at most once
+     * and without holding EventBus locks.
+     */
+    public <T> void postSticky(Class<T> eventClass, EventSupplier<? extends T> eventSupplier) {
+        LazyStickyEvent lazyStickyEvent = new LazyStickyEvent(eventSupplier);
+        Object previousEvent;
+        synchronized (stickyEvents) {
+            previousEvent = putStickyEvent(eventClass, lazyStickyEvent);
+        }
+        releaseEvent(previousEvent);
+        // Check subscribers after the put: subscribers registering in the meantime get it as sticky event
+        if (getDispatchPlan(eventClass).subscriptions.length > 0) {
+            Object event = createStickyEvent(eventClass, lazyStickyEvent);
+            // The created event's reference belongs to the sticky store, posting needs another one
+            if (retainStickyEvent(eventClass, event)) {
+                post(event);
+            }
+        }
+    }
+
+    /**
+     * Creates the event if the given sticky event is a lazy one, see {@link #postSticky(Class, EventSupplier)}. Must
+     * not be called while holding stickyEvents.
+     *
+     * @return the current sticky event of the given type, which may have been replaced in the meantime
+     */
+    private Object resolveStickyEvent(Class<?> eventType, Object stickyEvent) {
+        while (stickyEvent instanceof LazyStickyEvent) {
+            createStickyEvent(eventType, (LazyStickyEvent) stickyEvent);
+            stickyEvent = stickyEvents.get(eventType);
+        }
+        return stickyEvent;
+    }
+
+    /**
+     * Creates the event of a lazy sticky event without holding locks, and replaces the lazy sticky event with it unless
+     * it was replaced or removed in the meantime. Must not be called while holding stickyEvents.
+     */
+    private Object createStickyEvent(Class<?> eventType, LazyStickyEvent lazyStickyEvent) {
+        Object event = lazyStickyEvent.get(eventType);
+        synchronized (stickyEvents) {
+            if (stickyEvents.replace(eventType, lazyStickyEvent, event)) {
+                addToStickyHistory(eventType, event);
+            }
+        }
+        return event;
+    }
+
     /**
      * Gets the most recent sticky event for the given type.
      *
      * @see #postSticky(Object)
      */
     public <T> T getStickyEvent(Class<T> eventType) {
-        synchronized (stickyEvents) {
-            return eventType.cast(stickyEvents.get(eventType));
-        }
+        return eventType.cast(resolveStickyEvent(eventType, stickyEvents.get(eventType)));
     }
 
     /**
-     * Remove and gets the recent sticky event for the given event type.
+     * Remove and gets the recent sticky event for the given event type. The reference to a {@link RecyclableEvent}
+     * held while it was sticky is passed to the caller, who must release it.
      *
      * @see #postSticky(Object)
      */
     public <T> T removeStickyEvent(Class<T> eventType) {
-        synchronized (stickyEvents) {
-            return eventType.cast(stickyEvents.remove(eventType));
+        while (true) {
+            Object stickyEvent = resolveStickyEvent(eventType, stickyEvents.get(eventType));
+            synchronized (stickyEvents) {
+                // Otherwise, a lazy sticky event was posted in the meantime
+                if (stickyEvents.get(eventType) == stickyEvent) {
+                    removeStickyEventType(eventType);
+                    return eventType.cast(stickyEvent);
+                }
+            }
         }
     }
 
@@ -337,14 +936,20 @@ public class EventBus {
      * @return true if the events matched and the sticky event was removed.
      */
     public boolean removeStickyEvent(Object event) {
-        synchronized (stickyEvents) {
-            Class<?> eventType = event.getClass();
-            Object existingEvent = stickyEvents.get(eventType);
-            if (event.equals(existingEvent)) {
-                stickyEvents.remove(eventType);
-                return true;
-            } else {
-                return false;
+        Class<?> eventType = event.getClass();
+        while (true) {
+            Object existingEvent = resolveStickyEvent(eventType, stickyEvents.get(eventType));
+            synchronized (stickyEvents) {
+                // Otherwise, a lazy sticky event was posted in the meantime
+                if (stickyEvents.get(eventType) == existingEvent) {
+                    if (event.equals(existingEvent)) {
+                        removeStickyEventType(eventType);
+                        releaseEvent(existingEvent);
+                        return true;
+                    } else {
+                        return false;
+                    }
+                }
             }
         }
     }
@@ -354,137 +959,368 @@ public class EventBus {
      */
     public void removeAllStickyEvents() {
         synchronized (stickyEvents) {
+            for (Object stickyEvent : stickyEvents.values()) {
+                releaseEvent(stickyEvent);
+            }
             stickyEvents.clear();
+            if (stickyEventIndex != null) {
+                stickyEventIndex.clear();
+            }
+            for (StickyHistory history : stickyHistories.values()) {
+                clearStickyHistory(history);
+            }
+            stickyHistories.clear();
         }
     }
 
     public boolean hasSubscriberForEvent(Class<?> eventClass) {
-        List<Class<?>> eventTypes = lookupAllEventTypes(eventClass);
-        if (eventTypes != null) {
-            int countTypes = eventTypes.size();
-            for (int h = 0; h < countTypes; h++) {
-                Class<?> clazz = eventTypes.get(h);
-                CopyOnWriteArrayList<Subscription> subscriptions;
-                synchronized (this) {
-                    subscriptions = subscriptionsByEventType.get(clazz);
-                }
-                if (subscriptions != null && !subscriptions.isEmpty()) {
-                    return true;
-                }
+        if (eventInheritance) {
+            return getDispatchPlan(eventClass).subscriptions.length > 0;
+        }
+        for (Class<?> clazz : lookupAllEventTypes(eventClass)) {
+            CopyOnWriteArrayList<Subscription> subscriptions = subscriptionsByEventType.get(clazz);
+            if (subscriptions != null && !subscriptions.isEmpty()) {
+                return true;
             }
         }
         return false;
     }
 
     private void postSingleEvent(Object event, PostingThreadState postingState) throws Error {
-        Class<?> eventClass = event.getClass();
-        boolean subscriptionFound = false;
-        if (eventInheritance) {
-            List<Class<?>> eventTypes = lookupAllEventTypes(eventClass);
-            int countTypes = eventTypes.size();
-            for (int h = 0; h < countTypes; h++) {
-                Class<?> clazz = eventTypes.get(h);
-                subscriptionFound |= postSingleEventForEventType(event, postingState, clazz);
-            }
-        } else {
-            subscriptionFound = postSingleEventForEventType(event, postingState, eventClass);
+        postSingleEvent(event, getDispatchPlan(event.getClass()), postingState);
+    }
+
+    private void postSingleEvent(Object event, DispatchPlan dispatchPlan, PostingThreadState postingState) {
+        try {
+            postSingleEventToPlan(event, dispatchPlan, postingState);
+        } finally {
+            // Posting owns a reference to pooled events; deliveries via posters hold their own
+            releaseEvent(event);
         }
-        if (!subscriptionFound) {
-            if (logNoSubscriberMessages) {
+    }
+
+    private void postSingleEventToPlan(Object event, DispatchPlan dispatchPlan, PostingThreadState postingState) {
+        Subscription[] subscriptions = dispatchPlan.subscriptions;
+        if (subscriptions.length > 0) {
+            postToSubscriptions(event, postingState, subscriptions);
+        } else {
+            // The empty plan serves as negative cache; avoid allocations here for usually unobserved events
+            Class<?> eventClass = dispatchPlan.eventClass;
+            if (logNoSubscriberMessages && !dispatchPlan.noSubscriberLogged) {
+                dispatchPlan.noSubscriberLogged = true;
                 logger.log(Level.FINE, "No subscribers registered for event " + eventClass);
             }
             if (sendNoSubscriberEvent && eventClass != NoSubscriberEvent.class &&
-                    eventClass != SubscriberExceptionEvent.class) {
-                post(new NoSubscriberEvent(this, event));
+                    eventClass != SubscriberExceptionEvent.class &&
+                    getDispatchPlan(NoSubscriberEvent.class).subscriptions.length > 0) {
+                int eventCount = noSubscriberEventIntervalNanos > 0 ?
+                        dispatchPlan.countEventWithoutSubscribers(noSubscriberEventIntervalNanos) : 1;
+                if (eventCount > 0) {
+                    retainEvent(event);
+                    post(new NoSubscriberEvent(this, event, eventCount));
+                }
             }
         }
     }
 
-    private boolean postSingleEventForEventType(Object event, PostingThreadState postingState, Class<?> eventClass) {
-        CopyOnWriteArrayList<Subscription> subscriptions;
-        synchronized (this) {
-            subscriptions = subscriptionsByEventType.get(eventClass);
-        }
-        if (subscriptions != null && !subscriptions.isEmpty()) {
-            for (Subscription subscription : subscriptions) {
-                postingState.event = event;
-                postingState.subscription = subscription;
-                boolean aborted;
-                try {
-                    postToSubscription(subscription, event, postingState.isMainThread);
-                    aborted = postingState.canceled;
-                } finally {
-                    postingState.event = null;
-                    postingState.subscription = null;
-                    postingState.canceled = false;
+    private void postToSubscriptions(Object event, PostingThreadState postingState, Subscription[] subscriptions) {
+        int count = subscriptions.length;
+        for (int i = 0; i < count; i++) {
+            Subscription subscription = subscriptions[i];
+            postingState.event = event;
+            postingState.subscription = subscription;
+            boolean aborted;
+            try {
+                postToSubscription(subscription, event, postingState.isMainThread, postingState);
+                aborted = postingState.canceled;
+            } finally {
+                postingState.event = null;
+                postingState.subscription = null;
+                postingState.canceled = false;
+            }
+            if (aborted) {
+                // Canceling affects subscribers of the same event type only, which come in sequence in the plan
+                Class<?> eventType = subscription.subscriberMethod.eventType;
+                while (i + 1 < count && subscriptions[i + 1].subscriberMethod.eventType == eventType) {
+                    i++;
                 }
-                if (aborted) {
-                    break;
+            }
+        }
+    }
+
+    /** @param postingState the posting thread's state to collect batched deliveries, or null to enqueue directly */
+    private void postToSubscription(Subscription subscription, Object event, boolean isMainThread,
+                                    PostingThreadState postingState) {
+        if (!subscription.hold(event)) {
+            deliverToSubscription(subscription, event, isMainThread, postingState);
+        }
+    }
+
+    /** Like {@link #postToSubscription}, but without holding back events during a sticky replay. */
+    private void deliverToSubscription(Subscription subscription, Object event, boolean isMainThread,
+                                       PostingThreadState postingState) {
+        if (subscription.batcher != null) {
+            retainEvent(event);
+            subscription.batcher.add(event, postingState);
+            return;
+        } else if (subscription.rateLimiter != null && !subscription.rateLimiter.offer(event)) {
+            return;
+        }
+        Poster poster = getPoster(subscription, isMainThread);
+        if (poster == null) {
+            invokeSubscriber(subscription, event);
+        } else {
+            retainEvent(event);
+            enqueueRetained(poster, subscription, event, postingState);
+        }
+    }
+
+    private void enqueueRetained(Poster poster, Subscription subscription, Object event,
+                                 PostingThreadState postingState) {
+        Object queuedEvent = event;
+        if (subscription.conflation != null) {
+            queuedEvent = subscription.conflation.offer(event);
+            if (queuedEvent == null) {
+                // Took the place of a queued event
+                return;
+            }
+        }
+        enqueue(poster, PendingPost.obtainPendingPost(subscription, queuedEvent), postingState);
+    }
+
+    /**
+     * Delivers a retained event held back by a {@link RateLimiter}. Like batches, it goes through the thread mode's
+     * poster, because the calling thread is the timer thread.
+     */
+    void deliverRetained(Subscription subscription, Object event) {
+        Poster poster = getQueuePoster(subscription);
+        if (poster == null) {
+            try {
+                if (subscription.active) {
+                    invokeSubscriber(subscription, event);
                 }
+            } finally {
+                releaseEvent(event);
+            }
+        } else {
+            enqueueRetained(poster, subscription, event, null);
+        }
+    }
+
+    private void postSignal(int key, long value, PostingThreadState postingState) {
+        Subscription[] subscriptions = getDispatchPlan(SubscriberMethod.SIGNAL_TYPE).subscriptions;
+        for (Subscription subscription : subscriptions) {
+            Poster poster = getPoster(subscription, postingState.isMainThread);
+            if (poster == null) {
+                invokeSignalSubscriber(subscription, key, value);
+            } else {
+                enqueue(poster, PendingPost.obtainPendingPost(subscription, key, value), postingState);
             }
-            return true;
         }
-        return false;
     }
 
-    private void postToSubscription(Subscription subscription, Object event, boolean isMainThread) {
+    /** Queues the batch of a batch-consuming subscription, see {@link Batcher}. */
+    void enqueueBatch(Subscription subscription, Batcher batcher, PostingThreadState postingState) {
+        Poster poster = getQueuePoster(subscription);
+        if (poster == null) {
+            invokeSubscriber(subscription, batcher, 0, 0);
+        } else {
+            enqueue(poster, PendingPost.obtainPendingPost(subscription, batcher), postingState);
+        }
+    }
+
+    /**
+     * Gets the poster for deliveries that must be queued even if the posting thread could invoke the subscriber
+     * directly, e.g. batches, so events posted meanwhile can join them. Without a main thread poster, MAIN deliveries
+     * are made by the calling thread.
+     */
+    private Poster getQueuePoster(Subscription subscription) {
         switch (subscription.subscriberMethod.threadMode) {
+            case MAIN:
+            case MAIN_ORDERED:
+                return mainThreadPoster;
+            case BACKGROUND:
+                return getBackgroundPoster(subscription);
+            case ASYNC:
+                return subscription.boundedAsyncPoster != null ? subscription.boundedAsyncPoster : asyncPoster;
+            default:
+                throw new IllegalStateException("Deliveries are not queued for thread mode " +
+                        subscription.subscriberMethod.threadMode);
+        }
+    }
+
+    /** Gets the poster delivering to the subscription, or null to invoke it directly. */
+    private Poster getPoster(Subscription subscription, boolean isMainThread) {
+        ThreadMode threadMode = subscription.subscriberMethod.threadMode;
+        switch (threadMode) {
             case POSTING:
-                invokeSubscriber(subscription, event);
-                break;
+                return null;
             case MAIN:
-                if (isMainThread) {
-                    invokeSubscriber(subscription, event);
-                } else {
-                    mainThreadPoster.enqueue(subscription, event);
-                }
-                break;
+                return isMainThread ? null : mainThreadPoster;
             case MAIN_ORDERED:
-                if (mainThreadPoster != null) {
-                    mainThreadPoster.enqueue(subscription, event);
-                } else {
-                    // temporary: technically not correct as poster not decoupled from subscriber
-                    invokeSubscriber(subscription, event);
-                }
-                break;
+                // If null, subscribers are invoked directly
+                // temporary: technically not correct as poster not decoupled from subscriber
+                return mainThreadPoster;
             case BACKGROUND:
-                if (isMainThread) {
-                    backgroundPoster.enqueue(subscription, event);
-                } else {
-                    invokeSubscriber(subscription, event);
-                }
-                break;
+                return isMainThread ? getBackgroundPoster(subscription) : null;
             case ASYNC:
-                asyncPoster.enqueue(subscription, event);
-                break;
+                return subscription.boundedAsyncPoster != null ? subscription.boundedAsyncPoster : asyncPoster;
             default:
-                throw new IllegalStateException("Unknown thread mode: " + subscription.subscriberMethod.threadMode);
+                throw new IllegalStateException("Unknown thread mode: " + threadMode);
         }
     }
 
-    /** Looks up all Class objects including super classes and interfaces. Should also work for interfaces. */
-    private static List<Class<?>> lookupAllEventTypes(Class<?> eventClass) {
-        synchronized (eventTypesCache) {
-            List<Class<?>> eventTypes = eventTypesCache.get(eventClass);
-            if (eventTypes == null) {
-                eventTypes = new ArrayList<>();
-                Class<?> clazz = eventClass;
-                while (clazz != null) {
-                    eventTypes.add(clazz);
-                    addInterfaces(eventTypes, clazz.getInterfaces());
-                    clazz = clazz.getSuperclass();
+    /** All events for a subscriber go to the same lane, so it receives them in order. */
+    private Poster getBackgroundPoster(Subscription subscription) {
+        if (backgroundPosters.length == 1) {
+            return backgroundPosters[0];
+        }
+        return backgroundPosters[getBackgroundLane(subscription.subscriber)];
+    }
+
+    int getBackgroundLane(Object subscriber) {
+        int hash = System.identityHashCode(subscriber);
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % backgroundPosters.length;
+    }
+
+    private void enqueue(Poster poster, PendingPost pendingPost, PostingThreadState postingState) {
+        QueueLimit subscriptionLimit = pendingPost.subscription.queueLimit;
+        QueueLimit posterLimit = poster instanceof LimitedPoster ? ((LimitedPoster) poster).limit : null;
+        if (subscriptionLimit != null || posterLimit != null) {
+            if (!admit(subscriptionLimit, poster, postingState)) {
+                discardPendingPost(pendingPost);
+                return;
+            } else if (!admit(posterLimit, poster, postingState)) {
+                if (subscriptionLimit != null) {
+                    subscriptionLimit.remove();
                 }
-                eventTypesCache.put(eventClass, eventTypes);
+                discardPendingPost(pendingPost);
+                return;
             }
-            return eventTypes;
+            pendingPost.queueLimit = posterLimit;
+        }
+        if (postingState != null && postingState.batching) {
+            postingState.getBatch(poster).add(pendingPost);
+        } else {
+            poster.enqueueAll(pendingPost, pendingPost, 1);
         }
     }
 
+    /**
+     * Counts a pending post to be enqueued against the given limit (if not null), applying its overflow policy.
+     *
+     * @return false if the pending post must be discarded
+     */
+    private boolean admit(QueueLimit limit, Poster poster, PostingThreadState postingState) {
+        if (limit == null) {
+            return true;
+        }
+        while (!limit.tryAdd()) {
+            switch (limit.overflowPolicy) {
+                case BLOCK:
+                    if (limit.isDelivering() || !mayAwaitSpace(poster)) {
+                        // Would wait for itself, or must not wait at all
+                        limit.add();
+                        return true;
+                    }
+                    if (postingState != null) {
+                        // Pending posts collected for a batch count already, but can't be delivered before a flush
+                        postingState.flushBatches();
+                    }
+                    limit.awaitSpace();
+                    break;
+                case DROP_OLDEST:
+                    PendingPost oldest = poster.pollOldest();
+                    if (oldest == null) {
+                        // All pending posts are about to be delivered or still in a batch
+                        limit.add();
+                        return true;
+                    }
+                    releaseQueueLimits(oldest.subscription, oldest.queueLimit);
+                    discardPendingPost(oldest);
+                    break;
+                case DROP_NEWEST:
+                    return false;
+                case REJECT:
+                    if (postingState != null) {
+                        postingState.rejected = true;
+                    }
+                    return false;
+                default:
+                    throw new IllegalStateException("Unknown overflow policy: " + limit.overflowPolicy);
+            }
+        }
+        return true;
+    }
+
+    /** Drops a pending post instead of delivering it. */
+    private static void discardPendingPost(PendingPost pendingPost) {
+        Object event = pendingPost.event;
+        Subscription subscription = pendingPost.subscription;
+        PendingPost.releasePendingPost(pendingPost);
+        discardEvent(subscription, event);
+    }
+
+    /** Drops an event a poster took from its queue but cannot deliver, e.g. because its executor task was rejected. */
+    static void discardQueued(Subscription subscription, Object event) {
+        releaseQueueLimits(subscription, null);
+        discardEvent(subscription, event);
+    }
+
+    private static void discardEvent(Subscription subscription, Object event) {
+        if (subscription.conflation != null) {
+            event = subscription.conflation.take((Conflation.Entry) event);
+        } else if (subscription.batcher != null) {
+            releaseEvents(subscription.batcher.take());
+            return;
+        }
+        releaseEvent(event);
+    }
+
+    /**
+     * Threads delivering from the given poster would wait for themselves; the main thread and the timer thread (rate
+     * limited and batched deliveries) must not wait at all.
+     */
+    private boolean mayAwaitSpace(Poster poster) {
+        return !poster.isDeliveryThread() && !(mainThreadSupport != null && mainThreadSupport.isMainThread()) &&
+                !timingWheel.isTimerThread();
+    }
+
+    private static void releaseQueueLimits(Subscription subscription, QueueLimit posterLimit) {
+        if (subscription.queueLimit != null) {
+            subscription.queueLimit.remove();
+        }
+        if (posterLimit != null) {
+            posterLimit.remove();
+        }
+    }
+
+    /**
+     * Looks up all Class objects including super classes and interfaces. Should also work for interfaces.
+     * The returned array is shared and must not be modified.
+     */
+    private static Class<?>[] lookupAllEventTypes(Class<?> eventClass) {
+        Class<?>[] eventTypes = eventTypesCache.get(eventClass);
+        if (eventTypes == null) {
+            Set<Class<?>> eventTypeSet = new LinkedHashSet<>();
+            Class<?> clazz = eventClass;
+            while (clazz != null) {
+                eventTypeSet.add(clazz);
+                addInterfaces(eventTypeSet, clazz.getInterfaces());
+                clazz = clazz.getSuperclass();
+            }
+            eventTypes = eventTypeSet.toArray(new Class<?>[eventTypeSet.size()]);
+            // Concurrent computations yield equal results, so any of them may win
+            eventTypesCache.put(eventClass, eventTypes);
+        }
+        return eventTypes;
+    }
+
     /** Recurses through super interfaces. */
-    static void addInterfaces(List<Class<?>> eventTypes, Class<?>[] interfaces) {
+    static void addInterfaces(Set<Class<?>> eventTypes, Class<?>[] interfaces) {
         for (Class<?> interfaceClass : interfaces) {
-            if (!eventTypes.contains(interfaceClass)) {
-                eventTypes.add(interfaceClass);
+            if (eventTypes.add(interfaceClass)) {
                 addInterfaces(eventTypes, interfaceClass.getInterfaces());
             }
         }
@@ -499,15 +1335,75 @@ public class EventBus {
     void invokeSubscriber(PendingPost pendingPost) {
         Object event = pendingPost.event;
         Subscription subscription = pendingPost.subscription;
+        int signalKey = pendingPost.signalKey;
+        long signalValue = pendingPost.signalValue;
+        QueueLimit posterLimit = pendingPost.queueLimit;
         PendingPost.releasePendingPost(pendingPost);
-        if (subscription.active) {
-            invokeSubscriber(subscription, event);
+        if (posterLimit == null) {
+            invokeSubscriber(subscription, event, signalKey, signalValue);
+        } else {
+            posterLimit.remove();
+            posterLimit.beginDelivery();
+            try {
+                invokeSubscriber(subscription, event, signalKey, signalValue);
+            } finally {
+                posterLimit.endDelivery();
+            }
+        }
+    }
+
+    /** Delivers an event or signal taken from a poster's queue, see {@link #invokeSubscriber(PendingPost)}. */
+    void invokeSubscriber(Subscription subscription, Object event, int signalKey, long signalValue) {
+        QueueLimit subscriptionLimit = subscription.queueLimit;
+        if (subscriptionLimit == null) {
+            deliverQueued(subscription, event, signalKey, signalValue);
+        } else {
+            subscriptionLimit.remove();
+            subscriptionLimit.beginDelivery();
+            try {
+                deliverQueued(subscription, event, signalKey, signalValue);
+            } finally {
+                subscriptionLimit.endDelivery();
+            }
+        }
+    }
+
+    private void deliverQueued(Subscription subscription, Object event, int signalKey, long signalValue) {
+        if (subscription.subscriberMethod.isSignal()) {
+            if (subscription.active) {
+                invokeSignalSubscriber(subscription, signalKey, signalValue);
+            }
+        } else if (subscription.batcher != null) {
+            List<Object> batch = subscription.batcher.take();
+            try {
+                if (subscription.active) {
+                    invokeSubscriber(subscription, batch);
+                }
+            } finally {
+                releaseEvents(batch);
+            }
+        } else {
+            if (subscription.conflation != null) {
+                event = subscription.conflation.take((Conflation.Entry) event);
+            }
+            try {
+                if (subscription.active) {
+                    invokeSubscriber(subscription, event);
+                }
+            } finally {
+                releaseEvent(event);
+            }
         }
     }
 
     void invokeSubscriber(Subscription subscription, Object event) {
         try {
-            subscription.subscriberMethod.method.invoke(subscription.subscriber, event);
+            SubscriberMethod subscriberMethod = subscription.subscriberMethod;
+            if (invokeUsingReflection) {
+                subscriberMethod.getMethod().invoke(subscription.subscriber, event);
+            } else {
+                subscriberMethod.getInvoker().invoke(subscription.subscriber, event);
+            }
         } catch (InvocationTargetException e) {
             handleSubscriberException(subscription, event, e.getCause());
         } catch (IllegalAccessException e) {
@@ -515,6 +1411,57 @@ public class EventBus {
         }
     }
 
+    void invokeSignalSubscriber(Subscription subscription, int key, long value) {
+        try {
+            SubscriberMethod subscriberMethod = subscription.subscriberMethod;
+            if (invokeUsingReflection) {
+                subscriberMethod.getMethod().invoke(subscription.subscriber, key, value);
+            } else {
+                subscriberMethod.getSignalInvoker().invoke(subscription.subscriber, key, value);
+            }
+        } catch (InvocationTargetException e) {
+            handleSubscriberException(subscription, new Signal(key, value), e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unexpected exception", e);
+        }
+    }
+
+    /**
+     * Gets the pooled event whose references cover the delivery of the given event: the event itself, or the event
+     * wrapped by a {@link NoSubscriberEvent} or {@link SubscriberExceptionEvent}.
+     */
+    private static RecyclableEvent getRecyclableEvent(Object event) {
+        if (event instanceof RecyclableEvent) {
+            return (RecyclableEvent) event;
+        } else if (event instanceof NoSubscriberEvent) {
+            return getRecyclableEvent(((NoSubscriberEvent) event).originalEvent);
+        } else if (event instanceof SubscriberExceptionEvent) {
+            return getRecyclableEvent(((SubscriberExceptionEvent) event).causingEvent);
+        } else {
+            return null;
+        }
+    }
+
+    static void retainEvent(Object event) {
+        RecyclableEvent recyclableEvent = getRecyclableEvent(event);
+        if (recyclableEvent != null) {
+            recyclableEvent.retain();
+        }
+    }
+
+    static void releaseEvent(Object event) {
+        RecyclableEvent recyclableEvent = getRecyclableEvent(event);
+        if (recyclableEvent != null) {
+            recyclableEvent.release();
+        }
+    }
+
+    private static void releaseEvents(List<Object> events) {
+        for (int i = 0, size = events.size(); i < size; i++) {
+            releaseEvent(events.get(i));
+        }
+    }
+
     private void handleSubscriberException(Subscription subscription, Object event, Throwable cause) {
         if (event instanceof SubscriberExceptionEvent) {
             if (logSubscriberExceptions) {
@@ -536,6 +1483,7 @@ public class EventBus {
             if (sendSubscriberExceptionEvent) {
                 SubscriberExceptionEvent exEvent = new SubscriberExceptionEvent(this, cause, event,
                         subscription.subscriber);
+                retainEvent(event);
                 post(exEvent);
             }
         }
@@ -543,18 +1491,90 @@ public class EventBus {
 
     /** For ThreadLocal, much faster to set (and get multiple values). */
     final static class PostingThreadState {
-        final List<Object> eventQueue = new ArrayList<>();
+        final EventQueue eventQueue = new EventQueue();
         boolean isPosting;
         boolean isMainThread;
         Subscription subscription;
         Object event;
         boolean canceled;
+        boolean batching;
+        /** Set if a delivery was rejected, see {@link #tryPost(Object)}. */
+        boolean rejected;
+        /** Set for virtual threads: the thread local state does not outlive posting, so it costs no memory between. */
+        boolean removeAfterPosting;
+        /** Pending posts per poster collected by postAll; created on first use. */
+        List<PendingPostBatch> batches;
+
+        PendingPostBatch getBatch(Poster poster) {
+            if (batches == null) {
+                batches = new ArrayList<>(3);
+            }
+            for (int i = 0; i < batches.size(); i++) {
+                PendingPostBatch batch = batches.get(i);
+                if (batch.poster == poster) {
+                    return batch;
+                }
+            }
+            PendingPostBatch batch = new PendingPostBatch(poster);
+            batches.add(batch);
+            return batch;
+        }
+
+        void flushBatches() {
+            if (batches != null) {
+                for (int i = 0; i < batches.size(); i++) {
+                    batches.get(i).flush();
+                }
+            }
+        }
+    }
+
+    /** Sticky event created on demand by its supplier. */
+    private static final class LazyStickyEvent {
+        private final EventSupplier<?> eventSupplier;
+        private Object event;
+
+        LazyStickyEvent(EventSupplier<?> eventSupplier) {
+            this.eventSupplier = eventSupplier;
+        }
+
+        /** Calls the supplier once; threads needing the event at the same time wait for it. */
+        synchronized Object get(Class<?> eventType) {
+            if (event == null) {
+                event = eventSupplier.get();
+                if (event == null) {
+                    throw new EventBusException("Event supplier returned null for sticky event " + eventType);
+                }
+            }
+            return event;
+        }
+    }
+
+    /** A lazy sticky event collected for a new subscription, created once the lock is released. */
+    private static final class LazyStickyReplay {
+        final Class<?> eventType;
+        final LazyStickyEvent lazyStickyEvent;
+        final int replay;
+
+        LazyStickyReplay(Class<?> eventType, LazyStickyEvent lazyStickyEvent, int replay) {
+            this.eventType = eventType;
+            this.lazyStickyEvent = lazyStickyEvent;
+            this.replay = replay;
+        }
     }
 
     ExecutorService getExecutorService() {
         return executorService;
     }
 
+    TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    ExecutorService getAsyncExecutorService() {
+        return asyncExecutorService;
+    }
+
     /**
      * For internal use only.
      */
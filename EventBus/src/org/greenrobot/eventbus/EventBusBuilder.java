@@ -21,7 +21,10 @@ import org.greenrobot.eventbus.android.AndroidLogger;
 import org.greenrobot.eventbus.meta.SubscriberInfoIndex;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -37,11 +40,22 @@ public class EventBusBuilder {
     boolean logNoSubscriberMessages = true;
     boolean sendSubscriberExceptionEvent = true;
     boolean sendNoSubscriberEvent = true;
+    long noSubscriberEventIntervalMillis;
     boolean throwSubscriberException;
     boolean eventInheritance = true;
     boolean ignoreGeneratedIndex;
     boolean strictMethodVerification;
+    boolean invokeUsingReflection;
+    boolean asyncVirtualThreads;
     ExecutorService executorService = DEFAULT_EXECUTOR_SERVICE;
+    int backgroundLaneCount = 1;
+    long backgroundKeepAliveMillis = 1000;
+    int backgroundSpinsBeforePark = 100;
+    long timerTickMillis = 10;
+    final Map<ThreadMode, RingBufferPoster.Config> ringBufferConfigs = new EnumMap<>(ThreadMode.class);
+    final Map<ThreadMode, QueueConfig> queueConfigs = new EnumMap<>(ThreadMode.class);
+    final Map<Class<?>, Integer> stickyHistoryCapacities = new HashMap<>();
+    int stickyHistoryBudget;
     List<Class<?>> skipMethodVerificationForClasses;
     List<SubscriberInfoIndex> subscriberInfoIndexes;
     Logger logger;
@@ -56,7 +70,10 @@ public class EventBusBuilder {
         return this;
     }
 
-    /** Default: true */
+    /**
+     * Logs (at level FINE) if no subscribers are registered for a posted event (default: true). The message is logged
+     * once per event class until subscriptions relevant to the class change.
+     */
     public EventBusBuilder logNoSubscriberMessages(boolean logNoSubscriberMessages) {
         this.logNoSubscriberMessages = logNoSubscriberMessages;
         return this;
@@ -74,6 +91,24 @@ public class EventBusBuilder {
         return this;
     }
 
+    /**
+     * Posts at most one {@link NoSubscriberEvent} per event class within the given interval (default: 0, one per
+     * event without subscribers). Events without subscribers in between are counted and reported by the next
+     * NoSubscriberEvent of their class (see {@link NoSubscriberEvent#eventCount}). Useful if events are usually
+     * unobserved, e.g. for telemetry.
+     * <p/>
+     * Counts are reported lazily: only posting another event of the class without subscribers after the interval
+     * passed posts the NoSubscriberEvent. Events counted since the last NoSubscriberEvent are never reported if no
+     * further event of their class is posted, or if subscriptions relevant to the class change in the meantime.
+     */
+    public EventBusBuilder noSubscriberEventInterval(long intervalMillis) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Interval must not be negative: " + intervalMillis);
+        }
+        this.noSubscriberEventIntervalMillis = intervalMillis;
+        return this;
+    }
+
     /**
      * Fails if an subscriber throws an exception (default: false).
      * <p/>
@@ -87,12 +122,10 @@ public class EventBusBuilder {
 
     /**
      * By default, EventBus considers the event class hierarchy (subscribers to super classes will be notified).
-     * Switching this feature off will improve posting of events. For simple event classes extending Object directly,
-     * we measured a speed up of 20% for event posting. For more complex event hierarchies, the speed up should be
-     * greater than 20%.
      * <p/>
-     * However, keep in mind that event posting usually consumes just a small proportion of CPU time inside an app,
-     * unless it is posting at high rates, e.g. hundreds/thousands of events per second.
+     * The hierarchy has little impact on posting performance: EventBus resolves the subscriptions of all super
+     * classes and interfaces once per event class into a dispatch plan, which is reused until a relevant subscriber
+     * registers or unregisters. Switching this feature off mainly makes those plans cheaper to rebuild.
      */
     public EventBusBuilder eventInheritance(boolean eventInheritance) {
         this.eventInheritance = eventInheritance;
@@ -109,6 +142,164 @@ public class EventBusBuilder {
         return this;
     }
 
+    /**
+     * Number of serial lanes delivering BACKGROUND events (default: 1). Each subscriber is assigned to one lane, so it
+     * still receives events one after another in posting order, while subscribers of different lanes run in
+     * parallel. Thus, a slow subscriber only delays subscribers sharing its lane. Each lane occupies an executor
+     * thread while it has events to deliver (and during its keep alive time).
+     * <p/>
+     * Note: with more than one lane, events may reach subscribers of different lanes in a different order.
+     */
+    public EventBusBuilder backgroundLanes(int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("At least one lane is required: " + laneCount);
+        }
+        this.backgroundLaneCount = laneCount;
+        return this;
+    }
+
+    /**
+     * How long a BACKGROUND delivery thread waits for new events before it returns to the executor (default: 1000).
+     * Keeping it longer saves handing over to a new executor task for the next burst of events.
+     */
+    public EventBusBuilder backgroundKeepAlive(long keepAliveMillis) {
+        if (keepAliveMillis < 0) {
+            throw new IllegalArgumentException("Keep alive must not be negative: " + keepAliveMillis);
+        }
+        this.backgroundKeepAliveMillis = keepAliveMillis;
+        return this;
+    }
+
+    /**
+     * How often a BACKGROUND delivery thread checks for new events before it parks (default: 100). Spinning
+     * avoids park/unpark costs for events closely following each other, but burns CPU time; use 0 to park at once.
+     * With a BACKGROUND ring buffer poster, each check waits according to its {@link WaitStrategy}.
+     */
+    public EventBusBuilder backgroundSpinsBeforePark(int spins) {
+        if (spins < 0) {
+            throw new IllegalArgumentException("Spins must not be negative: " + spins);
+        }
+        this.backgroundSpinsBeforePark = spins;
+        return this;
+    }
+
+    /**
+     * Delivers events of the given thread mode using a ring buffer with preallocated slots instead of the default
+     * linked queue (default: none). Posting threads claim slots lock-free, and no objects are allocated per event.
+     * This trades memory (and, depending on the wait strategy, CPU) for throughput and latency under load.
+     * <p/>
+     * While the ring buffer is full, posting threads wait until delivery catches up. Thus, the capacity must cover
+     * the events BACKGROUND subscribers post to BACKGROUND subscribers themselves; otherwise an
+     * {@link EventBusException} is thrown when the delivering thread would have to wait for itself.
+     *
+     * @param threadMode   {@link ThreadMode#BACKGROUND} or {@link ThreadMode#ASYNC}
+     * @param capacity     number of slots, rounded up to a power of two
+     * @param waitStrategy how threads wait for a free slot or, for BACKGROUND, for the next event (up to
+     *                     {@link #backgroundSpinsBeforePark(int)} times before parking)
+     */
+    public EventBusBuilder ringBufferPoster(ThreadMode threadMode, int capacity, WaitStrategy waitStrategy) {
+        if (threadMode != ThreadMode.BACKGROUND && threadMode != ThreadMode.ASYNC) {
+            throw new IllegalArgumentException("Ring buffers are available for BACKGROUND and ASYNC only: " +
+                    threadMode);
+        }
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        if (waitStrategy == null) {
+            throw new NullPointerException("waitStrategy");
+        }
+        ringBufferConfigs.put(threadMode, new RingBufferPoster.Config(capacity, waitStrategy));
+        return this;
+    }
+
+    /**
+     * Sets the resolution of timers like {@link Subscribe#debounceMillis()} and
+     * {@link EventBus#postDelayed(Object, long)} (default: 10 ms). All timers of the bus share one timing wheel, which
+     * checks for expired timers once per tick. Thus, timers are up to one tick late.
+     */
+    public EventBusBuilder timerTickMillis(long tickMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms: " + tickMillis);
+        }
+        this.timerTickMillis = tickMillis;
+        return this;
+    }
+
+    /**
+     * Limits the number of events queued for delivery in the given thread mode (default: unlimited). Once the limit
+     * is reached, the overflow policy decides between blocking the posting thread, dropping events, or rejecting them
+     * (see {@link EventBus#tryPost(Object)}). For single subscriber methods, see {@link Subscribe#queueCapacity()}.
+     * <p/>
+     * MAIN and MAIN_ORDERED share one queue, so both refer to the same limit. Each BACKGROUND lane (see
+     * {@link #backgroundLanes(int)}) is limited separately. ASYNC subscriber methods with a
+     * {@link Subscribe#maxConcurrency()} have queues of their own, which only {@link Subscribe#queueCapacity()}
+     * limits. Not available for thread modes using a ring buffer (see
+     * {@link #ringBufferPoster(ThreadMode, int, WaitStrategy)}), which is bounded already.
+     *
+     * @param threadMode     any thread mode but {@link ThreadMode#POSTING}, which does not queue events
+     * @param capacity       maximum number of queued events
+     * @param overflowPolicy what happens to events exceeding the capacity
+     */
+    public EventBusBuilder queueCapacity(ThreadMode threadMode, int capacity, OverflowPolicy overflowPolicy) {
+        if (threadMode == ThreadMode.POSTING) {
+            throw new IllegalArgumentException("Events are not queued for ThreadMode.POSTING");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        if (overflowPolicy == null) {
+            throw new NullPointerException("overflowPolicy");
+        }
+        if (threadMode == ThreadMode.MAIN_ORDERED) {
+            threadMode = ThreadMode.MAIN;
+        }
+        queueConfigs.put(threadMode, new QueueConfig(capacity, overflowPolicy));
+        return this;
+    }
+
+    /**
+     * Keeps up to the given number of the most recent sticky events of the given event class (default: only the most
+     * recent one, see {@link EventBus#postSticky(Object)}). Subscriber methods get them in posting order when they
+     * register, see {@link Subscribe#replay()}. The history is per event class: with event inheritance, a subscriber
+     * of a super class gets the history of each sticky event class. Removing the sticky event of the class clears
+     * its history. See {@link #stickyHistoryBudget(int)} to limit the events kept by all histories.
+     *
+     * @param capacity maximum number of events kept, at least 1
+     */
+    public EventBusBuilder stickyHistory(Class<?> eventClass, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        stickyHistoryCapacities.put(eventClass, capacity);
+        return this;
+    }
+
+    /**
+     * Limits the number of events kept by all sticky histories together (default: 0, only limited by the capacity of
+     * each history, see {@link #stickyHistory(Class, int)}). Once the budget is exceeded, the oldest events of the
+     * history that was posted to least recently are dropped. The most recent sticky event of each event class is
+     * kept in any case.
+     */
+    public EventBusBuilder stickyHistoryBudget(int maxEvents) {
+        if (maxEvents < 0) {
+            throw new IllegalArgumentException("Illegal budget: " + maxEvents);
+        }
+        this.stickyHistoryBudget = maxEvents;
+        return this;
+    }
+
+    /**
+     * Runs {@link ThreadMode#ASYNC} deliveries on virtual threads, if supported by the runtime (Java 21+), instead of
+     * the executor service (default: false). This suits subscribers blocking on I/O: virtual threads are cheap, so
+     * many invocations can block concurrently. On older runtimes and Android, ASYNC delivery falls back to the
+     * executor service. Consider limiting concurrency of subscribers using scarce resources, see
+     * {@link Subscribe#maxConcurrency()}.
+     */
+    public EventBusBuilder asyncVirtualThreads(boolean asyncVirtualThreads) {
+        this.asyncVirtualThreads = asyncVirtualThreads;
+        return this;
+    }
+
     /**
      * Method name verification is done for methods starting with onEvent to avoid typos; using this method you can
      * exclude subscriber classes from this check. Also disables checks for method modifiers (public, not static nor
@@ -134,6 +325,18 @@ public class EventBusBuilder {
         return this;
     }
 
+    /**
+     * Forces subscriber methods to be called using reflection (Method.invoke) for every event (default: false).
+     * <p/>
+     * By default, EventBus creates a direct invoker per subscriber method on first delivery if the runtime supports
+     * java.lang.invoke, which avoids reflective access checks and argument arrays per event. Android always uses
+     * reflection.
+     */
+    public EventBusBuilder invokeUsingReflection(boolean invokeUsingReflection) {
+        this.invokeUsingReflection = invokeUsingReflection;
+        return this;
+    }
+
     /** Adds an index generated by EventBus' annotation preprocessor. */
     public EventBusBuilder addIndex(SubscriberInfoIndex index) {
         if (subscriberInfoIndexes == null) {
@@ -205,4 +408,13 @@ public class EventBusBuilder {
         return new EventBus(this);
     }
 
+    static final class QueueConfig {
+        final int capacity;
+        final OverflowPolicy overflowPolicy;
+
+        QueueConfig(int capacity, OverflowPolicy overflowPolicy) {
+            this.capacity = capacity;
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pool of {@link RecyclableEvent}s of one type. Typically, a pool is kept in a static field of the event class or the
+ * publisher. Pools are thread-safe.
+ *
+ * @param <T> the event class
+ */
+public final class EventPool<T extends RecyclableEvent> {
+    private final List<T> events = new ArrayList<>();
+    private final EventSupplier<? extends T> factory;
+    private final int maxSize;
+
+    /**
+     * @param factory Creates new events if the pool is empty.
+     * @param maxSize Maximum number of events kept in the pool; events recycled beyond are left to the GC.
+     */
+    public EventPool(EventSupplier<? extends T> factory, int maxSize) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+    }
+
+    /** Gets an event from the pool (or a new one), which is referenced once by the caller. */
+    public T obtain() {
+        T event = null;
+        synchronized (events) {
+            int size = events.size();
+            if (size > 0) {
+                event = events.remove(size - 1);
+            }
+        }
+        if (event == null) {
+            event = factory.get();
+        }
+        event.init(this);
+        return event;
+    }
+
+    /** Number of events currently available in the pool. */
+    public int size() {
+        synchronized (events) {
+            return events.size();
+        }
+    }
+
+    void recycle(T event) {
+        event.onRecycle();
+        synchronized (events) {
+            if (events.size() < maxSize) {
+                events.add(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.NoSuchElementException;
+
+/**
+ * FIFO queue of events to be posted by a single thread, backed by a growable circular array. Unlike removing the
+ * first element of an ArrayList, removing is O(1), so subscribers posting many follow-up events don't make posting
+ * quadratic. After a burst, the array shrinks back once the queue is empty again.
+ * <p/>
+ * Signals (see {@link EventBus#post(int, long)}) are kept in primitive slots next to the elements, so queueing them
+ * does not box.
+ */
+final class EventQueue {
+    /** Returned by {@link #remove()} for signals; key and value are then available from {@link #removedSignalKey}. */
+    static final Object SIGNAL = new Object();
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_RETAINED_CAPACITY = 256;
+
+    /** Length is always a power of two. */
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    /** Same length as elements; created on first signal. */
+    private int[] signalKeys;
+    private long[] signalValues;
+    private int head;
+    private int size;
+
+    /** Key and value of the signal removed last. */
+    int removedSignalKey;
+    long removedSignalValue;
+
+    void add(Object event) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = event;
+        size++;
+    }
+
+    void addSignal(int key, long value) {
+        if (size == elements.length) {
+            grow();
+        }
+        if (signalKeys == null) {
+            signalKeys = new int[elements.length];
+            signalValues = new long[elements.length];
+        }
+        int index = (head + size) & (elements.length - 1);
+        elements[index] = SIGNAL;
+        signalKeys[index] = key;
+        signalValues[index] = value;
+        size++;
+    }
+
+    Object remove() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        Object event = elements[head];
+        if (event == SIGNAL) {
+            removedSignalKey = signalKeys[head];
+            removedSignalValue = signalValues[head];
+        }
+        elements[head] = null;
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        if (size == 0) {
+            head = 0;
+            if (elements.length > MAX_RETAINED_CAPACITY) {
+                elements = new Object[INITIAL_CAPACITY];
+                signalKeys = null;
+                signalValues = null;
+            }
+        }
+        return event;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    private void grow() {
+        int capacity = elements.length;
+        Object[] newElements = new Object[capacity << 1];
+        int firstPart = capacity - head;
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, head);
+        elements = newElements;
+        if (signalKeys != null) {
+            int[] newSignalKeys = new int[capacity << 1];
+            System.arraycopy(signalKeys, head, newSignalKeys, 0, firstPart);
+            System.arraycopy(signalKeys, 0, newSignalKeys, firstPart, head);
+            signalKeys = newSignalKeys;
+            long[] newSignalValues = new long[capacity << 1];
+            System.arraycopy(signalValues, head, newSignalValues, 0, firstPart);
+            System.arraycopy(signalValues, 0, newSignalValues, firstPart, head);
+            signalValues = newSignalValues;
+        }
+        head = 0;
+    }
+}
@@ -36,8 +36,12 @@ public class HandlerPoster extends Handler implements Poster {
 
     public void enqueue(Subscription subscription, Object event) {
         PendingPost pendingPost = PendingPost.obtainPendingPost(subscription, event);
+        enqueueAll(pendingPost, pendingPost, 1);
+    }
+
+    public void enqueueAll(PendingPost first, PendingPost last, int count) {
         synchronized (this) {
-            queue.enqueue(pendingPost);
+            queue.enqueueAll(first, last);
             if (!handlerActive) {
                 handlerActive = true;
                 if (!sendMessage(obtainMessage())) {
@@ -47,6 +51,14 @@ public class HandlerPoster extends Handler implements Poster {
         }
     }
 
+    public PendingPost pollOldest() {
+        return queue.poll();
+    }
+
+    public boolean isDeliveryThread() {
+        return getLooper() == Looper.myLooper();
+    }
+
     @Override
     public void handleMessage(Message msg) {
         boolean rescheduled = false;
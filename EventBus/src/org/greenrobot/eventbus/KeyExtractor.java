@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+/**
+ * Extracts the key of events conflated by a subscriber method, see {@link Subscribe#conflationKey()}. Events with
+ * equal keys (as defined by {@link Object#equals(Object)}) replace each other while queued.
+ * <p/>
+ * Implementations need a no-arg constructor and must be thread-safe; a single instance serves all subscribers of
+ * the subscriber method.
+ *
+ * @param <E> the event class
+ */
+public interface KeyExtractor<E> {
+    /** Gets the key of the event; null is a valid key. */
+    Object getKey(E event);
+
+    /** Gives all events the same key, so all of them conflate; the default of {@link Subscribe#conflationKey()}. */
+    final class SameKey implements KeyExtractor<Object> {
+        @Override
+        public Object getKey(Object event) {
+            return null;
+        }
+    }
+}
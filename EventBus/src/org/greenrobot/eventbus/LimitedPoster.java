@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+/**
+ * A poster whose queue is limited, see {@link EventBusBuilder#queueCapacity(ThreadMode, int, OverflowPolicy)}.
+ * EventBus applies the limit before enqueuing, so this just adds the limit to the poster.
+ */
+final class LimitedPoster implements Poster {
+    final Poster poster;
+    final QueueLimit limit;
+
+    LimitedPoster(Poster poster, QueueLimit limit) {
+        this.poster = poster;
+        this.limit = limit;
+    }
+
+    public void enqueue(Subscription subscription, Object event) {
+        poster.enqueue(subscription, event);
+    }
+
+    public void enqueueAll(PendingPost first, PendingPost last, int count) {
+        poster.enqueueAll(first, last, count);
+    }
+
+    public PendingPost pollOldest() {
+        return poster.pollOldest();
+    }
+
+    public boolean isDeliveryThread() {
+        return poster.isDeliveryThread();
+    }
+}
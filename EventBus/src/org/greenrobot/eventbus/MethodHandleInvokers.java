@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invokers based on java.lang.invoke; only used if the runtime provides java.lang.invoke.LambdaMetafactory.
+ * <p/>
+ * Subscriber methods of public classes visible to EventBus get a class spun by LambdaMetafactory that calls the
+ * method directly, so the JIT can inline the call just like regular code. The spun class is set up through reflection
+ * only: EventBus' bytecode must neither link java.lang.invoke nor contain signature polymorphic calls (e.g.
+ * MethodHandle.invokeExact), which Android's dexer rejects for older API levels. Other methods (e.g. in non-public
+ * classes) are left to reflection.
+ */
+final class MethodHandleInvokers {
+    private static final Object GENERIC_TYPE;
+    private static final Object SIGNAL_TYPE;
+    private static final Object DIRECT_CALL_FACTORY_TYPE;
+    private static final Object SIGNAL_CALL_FACTORY_TYPE;
+
+    private static final Method LOOKUP;
+    private static final Method UNREFLECT;
+    private static final Method METHOD_TYPE;
+    private static final Method METAFACTORY;
+    private static final Method GET_TARGET;
+    private static final Method INVOKE_WITH_ARGUMENTS;
+
+    static {
+        try {
+            Class<?> methodHandlesClass = Class.forName("java.lang.invoke.MethodHandles");
+            Class<?> lookupClass = Class.forName("java.lang.invoke.MethodHandles$Lookup");
+            Class<?> methodTypeClass = Class.forName("java.lang.invoke.MethodType");
+            Class<?> methodHandleClass = Class.forName("java.lang.invoke.MethodHandle");
+            Class<?> callSiteClass = Class.forName("java.lang.invoke.CallSite");
+            LOOKUP = methodHandlesClass.getMethod("lookup");
+            UNREFLECT = lookupClass.getMethod("unreflect", Method.class);
+            METHOD_TYPE = methodTypeClass.getMethod("methodType", Class.class, Class[].class);
+            METAFACTORY = Class.forName("java.lang.invoke.LambdaMetafactory").getMethod("metafactory", lookupClass,
+                    String.class, methodTypeClass, methodTypeClass, methodHandleClass, methodTypeClass);
+            GET_TARGET = callSiteClass.getMethod("getTarget");
+            INVOKE_WITH_ARGUMENTS = methodHandleClass.getMethod("invokeWithArguments", Object[].class);
+
+            GENERIC_TYPE = methodType(void.class, Object.class, Object.class);
+            SIGNAL_TYPE = methodType(void.class, Object.class, int.class, long.class);
+            DIRECT_CALL_FACTORY_TYPE = methodType(DirectCall.class);
+            SIGNAL_CALL_FACTORY_TYPE = methodType(SignalCall.class);
+        } catch (Exception e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private MethodHandleInvokers() {
+    }
+
+    /** @return null if the method is not directly accessible for a spun class */
+    static SubscriberInvoker create(Method method) throws Exception {
+        if (!isDirectlyAccessible(method)) {
+            return null;
+        }
+        return new LambdaInvoker((DirectCall) spinCall(method, DIRECT_CALL_FACTORY_TYPE, GENERIC_TYPE));
+    }
+
+    /** @return null if the method is not directly accessible for a spun class */
+    static SignalInvoker createSignalInvoker(Method method) throws Exception {
+        if (!isDirectlyAccessible(method)) {
+            return null;
+        }
+        return new LambdaSignalInvoker((SignalCall) spinCall(method, SIGNAL_CALL_FACTORY_TYPE, SIGNAL_TYPE));
+    }
+
+    /** Has LambdaMetafactory spin an instance of the call interface, which calls the method with the given type. */
+    private static Object spinCall(Method method, Object factoryType, Object callType) throws Exception {
+        // Called reflectively, lookup() still returns a lookup for this class, which may define the spun class
+        Object lookup = LOOKUP.invoke(null);
+        Object target = UNREFLECT.invoke(lookup, method);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?>[] instantiatedParameterTypes = new Class<?>[parameterTypes.length + 1];
+        instantiatedParameterTypes[0] = method.getDeclaringClass();
+        System.arraycopy(parameterTypes, 0, instantiatedParameterTypes, 1, parameterTypes.length);
+        Object instantiatedType = methodType(void.class, instantiatedParameterTypes);
+        Object callSite = METAFACTORY.invoke(null, lookup, "call", factoryType, callType, target, instantiatedType);
+        Object factory = GET_TARGET.invoke(callSite);
+        return INVOKE_WITH_ARGUMENTS.invoke(factory, (Object) new Object[0]);
+    }
+
+    private static Object methodType(Class<?> returnType, Class<?>... parameterTypes) throws Exception {
+        return METHOD_TYPE.invoke(null, returnType, parameterTypes);
+    }
+
+    /** The spun class calls the method by name, so it must be able to access and resolve all involved classes. */
+    private static boolean isDirectlyAccessible(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers())) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!parameterType.isPrimitive() && !isVisible(parameterType)) {
+                return false;
+            }
+        }
+        return isVisible(declaringClass);
+    }
+
+    private static boolean isVisible(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, MethodHandleInvokers.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    interface DirectCall {
+        void call(Object subscriber, Object event);
+    }
+
+    interface SignalCall {
+        void call(Object subscriber, int key, long value);
+    }
+
+    static final class LambdaInvoker implements SubscriberInvoker {
+        private final DirectCall directCall;
+
+        LambdaInvoker(DirectCall directCall) {
+            this.directCall = directCall;
+        }
+
+        @Override
+        public void invoke(Object subscriber, Object event) throws InvocationTargetException {
+            try {
+                directCall.call(subscriber, event);
+            } catch (Throwable th) {
+                throw new InvocationTargetException(th);
+            }
+        }
+    }
+
+    static final class LambdaSignalInvoker implements SignalInvoker {
+        private final SignalCall signalCall;
+
+        LambdaSignalInvoker(SignalCall signalCall) {
+            this.signalCall = signalCall;
+        }
+
+        @Override
+        public void invoke(Object subscriber, int key, long value) throws InvocationTargetException {
+            try {
+                signalCall.call(subscriber, key, value);
+            } catch (Throwable th) {
+                throw new InvocationTargetException(th);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free queue for many posting threads and a single consuming thread, linking {@link PendingPost}s through their
+ * {@link PendingPost#next} field. Posting threads swap the tail and then link the previous tail to their chain, so
+ * the consumer may briefly see a non-empty queue it cannot poll from yet.
+ * <p/>
+ * The head is a placeholder whose successor holds the next event. Polling moves the successor's content into the
+ * placeholder and returns it, so the successor becomes the next placeholder.
+ */
+final class MpscPendingPostQueue {
+    /** Consumer side only. */
+    private PendingPost head;
+    private final AtomicReference<PendingPost> tail;
+
+    MpscPendingPostQueue() {
+        head = PendingPost.obtainPendingPost(null, null);
+        tail = new AtomicReference<>(head);
+    }
+
+    /** Appends the chain of pending posts from first to last (linked by {@link PendingPost#next}). */
+    void enqueueAll(PendingPost first, PendingPost last) {
+        if (first == null || last == null) {
+            throw new NullPointerException("null cannot be enqueued");
+        }
+        last.next = null;
+        PendingPost previous = tail.getAndSet(last);
+        previous.next = first;
+    }
+
+    /**
+     * Consumer only (callers taking turns by a lock count as one consumer).
+     *
+     * @return the next pending post, or null if there is none or it is not linked yet
+     */
+    PendingPost poll() {
+        PendingPost placeholder = head;
+        PendingPost next = placeholder.next;
+        if (next == null) {
+            return null;
+        }
+        placeholder.subscription = next.subscription;
+        placeholder.event = next.event;
+        placeholder.signalKey = next.signalKey;
+        placeholder.signalValue = next.signalValue;
+        placeholder.queueLimit = next.queueLimit;
+        next.subscription = null;
+        next.event = null;
+        next.queueLimit = null;
+        head = next;
+        placeholder.next = null;
+        return placeholder;
+    }
+
+    /** Consumer only, see {@link #poll()}. Also false while a posting thread is about to link its chain. */
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+}
@@ -27,9 +27,21 @@ public final class NoSubscriberEvent {
     /** The original event that could not be delivered to any subscriber. */
     public final Object originalEvent;
 
+    /**
+     * Number of events of the original event's class posted without subscribers that this event reports, including
+     * the original event. Always 1 unless NoSubscriberEvents are aggregated using
+     * {@link EventBusBuilder#noSubscriberEventInterval(long)}.
+     */
+    public final int eventCount;
+
     public NoSubscriberEvent(EventBus eventBus, Object originalEvent) {
+        this(eventBus, originalEvent, 1);
+    }
+
+    public NoSubscriberEvent(EventBus eventBus, Object originalEvent, int eventCount) {
         this.eventBus = eventBus;
         this.originalEvent = originalEvent;
+        this.eventCount = eventCount;
     }
 
 }
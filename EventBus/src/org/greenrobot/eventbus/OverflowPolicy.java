@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+/**
+ * What happens to an event for a full delivery queue, see
+ * {@link EventBusBuilder#queueCapacity(ThreadMode, int, OverflowPolicy)} and {@link Subscribe#queueCapacity()}.
+ */
+public enum OverflowPolicy {
+    /**
+     * The posting thread waits until there is space. Some threads never wait, so their events exceed the capacity
+     * instead: threads delivering from the full queue (e.g. a BACKGROUND subscriber posting to any BACKGROUND
+     * subscriber) would wait for themselves, and neither the main thread nor the timer thread delivering debounced,
+     * throttled, batched or scheduled events may be blocked.
+     */
+    BLOCK,
+
+    /** The oldest queued event is dropped to make space. Only available for thread mode queues. */
+    DROP_OLDEST,
+
+    /** The new event is dropped silently. */
+    DROP_NEWEST,
+
+    /** The new event is dropped, and {@link EventBus#tryPost(Object)} returns false. */
+    REJECT
+}
@@ -23,7 +23,12 @@ final class PendingPost {
 
     Object event;
     Subscription subscription;
-    PendingPost next;
+    /** Primitive slots for signals (event is null then), see {@link EventBus#post(int, long)}. */
+    int signalKey;
+    long signalValue;
+    /** The poster's limit counting this pending post, if any. */
+    QueueLimit queueLimit;
+    volatile PendingPost next;
 
     private PendingPost(Object event, Subscription subscription) {
         this.event = event;
@@ -44,9 +49,17 @@ final class PendingPost {
         return new PendingPost(event, subscription);
     }
 
+    static PendingPost obtainPendingPost(Subscription subscription, int signalKey, long signalValue) {
+        PendingPost pendingPost = obtainPendingPost(subscription, null);
+        pendingPost.signalKey = signalKey;
+        pendingPost.signalValue = signalValue;
+        return pendingPost;
+    }
+
     static void releasePendingPost(PendingPost pendingPost) {
         pendingPost.event = null;
         pendingPost.subscription = null;
+        pendingPost.queueLimit = null;
         pendingPost.next = null;
         synchronized (pendingPostPool) {
             // Don't let the pool grow indefinitely
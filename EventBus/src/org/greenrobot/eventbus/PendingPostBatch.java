@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+/**
+ * Collects the pending posts for one poster during {@link EventBus#postAll(java.util.Collection)}, so they can be
+ * handed over with a single {@link Poster#enqueueAll(PendingPost, PendingPost, int)} call.
+ */
+final class PendingPostBatch {
+    final Poster poster;
+
+    private PendingPost first;
+    private PendingPost last;
+    private int count;
+
+    PendingPostBatch(Poster poster) {
+        this.poster = poster;
+    }
+
+    void add(PendingPost pendingPost) {
+        if (last == null) {
+            first = pendingPost;
+        } else {
+            last.next = pendingPost;
+        }
+        last = pendingPost;
+        count++;
+    }
+
+    /** Enqueues all collected pending posts (if any) and resets this batch. */
+    void flush() {
+        if (count > 0) {
+            PendingPost chainFirst = first;
+            PendingPost chainLast = last;
+            int chainCount = count;
+            first = last = null;
+            count = 0;
+            poster.enqueueAll(chainFirst, chainLast, chainCount);
+        }
+    }
+}
@@ -21,14 +21,20 @@ final class PendingPostQueue {
     private PendingPost tail;
 
     synchronized void enqueue(PendingPost pendingPost) {
-        if (pendingPost == null) {
+        enqueueAll(pendingPost, pendingPost);
+    }
+
+    /** Appends the chain of pending posts from first to last (linked by {@link PendingPost#next}). */
+    synchronized void enqueueAll(PendingPost first, PendingPost last) {
+        if (first == null || last == null) {
             throw new NullPointerException("null cannot be enqueued");
         }
         if (tail != null) {
-            tail.next = pendingPost;
-            tail = pendingPost;
+            tail.next = first;
+            tail = last;
         } else if (head == null) {
-            head = tail = pendingPost;
+            head = first;
+            tail = last;
         } else {
             throw new IllegalStateException("Head present, but no tail");
         }
@@ -46,6 +52,10 @@ final class PendingPostQueue {
         return pendingPost;
     }
 
+    synchronized boolean isEmpty() {
+        return head == null;
+    }
+
     synchronized PendingPost poll(int maxMillisToWait) throws InterruptedException {
         if (head == null) {
             wait(maxMillisToWait);
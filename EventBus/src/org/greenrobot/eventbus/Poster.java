@@ -29,4 +29,26 @@ interface Poster {
      * @param event        Event that will be posted to subscribers.
      */
     void enqueue(Subscription subscription, Object event);
+
+    /**
+     * Enqueue a chain of pending posts at once, e.g. collected by {@link EventBus#postAll(java.util.Collection)}.
+     *
+     * @param first First pending post of the chain (linked by {@link PendingPost#next}).
+     * @param last  Last pending post of the chain.
+     * @param count Number of pending posts in the chain.
+     */
+    void enqueueAll(PendingPost first, PendingPost last, int count);
+
+    /**
+     * Removes the oldest pending post not handed over for delivery yet, see {@link OverflowPolicy#DROP_OLDEST}.
+     *
+     * @return the removed pending post, or null if there is none or the poster does not support removing
+     */
+    PendingPost pollOldest();
+
+    /**
+     * Whether the current thread delivers the pending posts of this poster, so it must not wait for queue space, see
+     * {@link OverflowPolicy#BLOCK}.
+     */
+    boolean isDeliveryThread();
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+/**
+ * Posts events of a single class, see {@link EventBus#publisherFor(Class)}. The subscriptions the events are delivered
+ * to are resolved once and kept until a subscription relevant to the event class is registered or unregistered.
+ * Publishers are thread-safe and may be shared.
+ *
+ * @param <T> the event class
+ */
+public final class Publisher<T> {
+    private final EventBus eventBus;
+    private final Class<T> eventClass;
+    private volatile DispatchPlan dispatchPlan;
+
+    Publisher(EventBus eventBus, Class<T> eventClass, DispatchPlan dispatchPlan) {
+        this.eventBus = eventBus;
+        this.eventClass = eventClass;
+        this.dispatchPlan = dispatchPlan;
+    }
+
+    public Class<T> getEventClass() {
+        return eventClass;
+    }
+
+    /**
+     * Posts the given event to the event bus like {@link EventBus#post(Object)}. Events of a subclass of the
+     * publisher's event class are posted without using the resolved subscriptions.
+     */
+    public void post(T event) {
+        if (event.getClass() != eventClass) {
+            eventBus.post(event);
+            return;
+        }
+        eventBus.post(event, getDispatchPlan());
+    }
+
+    /** Checks if the posted events would be delivered to any subscriber. */
+    public boolean hasSubscribers() {
+        return getDispatchPlan().subscriptions.length > 0;
+    }
+
+    private DispatchPlan getDispatchPlan() {
+        DispatchPlan plan = dispatchPlan;
+        if (plan.stale) {
+            plan = eventBus.getDispatchPlan(eventClass);
+            dispatchPlan = plan;
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the pending posts of a delivery queue (or of a subscription within queues) against a capacity. The count
+ * includes pending posts collected for a batch (see {@link EventBus#postAll(java.util.Collection)}), but not the
+ * ones being delivered.
+ */
+final class QueueLimit {
+    final int capacity;
+    final OverflowPolicy overflowPolicy;
+
+    private final AtomicInteger size = new AtomicInteger();
+    /** For BLOCK: nesting depth of deliveries counted by this limit per thread; those threads must not wait. */
+    private final ThreadLocal<int[]> deliveryDepth;
+    /** Guarded by this. */
+    private int waitingCount;
+
+    QueueLimit(int capacity, OverflowPolicy overflowPolicy) {
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        deliveryDepth = overflowPolicy == OverflowPolicy.BLOCK ? new ThreadLocal<int[]>() {
+            @Override
+            protected int[] initialValue() {
+                return new int[1];
+            }
+        } : null;
+    }
+
+    /** @return true if counted, false if there was no space */
+    boolean tryAdd() {
+        while (true) {
+            int current = size.get();
+            if (current >= capacity) {
+                return false;
+            } else if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Counts a pending post regardless of the capacity. */
+    void add() {
+        size.incrementAndGet();
+    }
+
+    void remove() {
+        size.decrementAndGet();
+        if (deliveryDepth != null) {
+            synchronized (this) {
+                if (waitingCount > 0) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /** Waits until there might be space (BLOCK only). */
+    void awaitSpace() {
+        synchronized (this) {
+            waitingCount++;
+            try {
+                while (size.get() >= capacity) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EventBusException("Interrupted while waiting for queue space", e);
+            } finally {
+                waitingCount--;
+            }
+        }
+    }
+
+    /** For BLOCK: whether the current thread delivers a pending post counted by this limit. */
+    boolean isDelivering() {
+        return deliveryDepth.get()[0] > 0;
+    }
+
+    void beginDelivery() {
+        if (deliveryDepth != null) {
+            deliveryDepth.get()[0]++;
+        }
+    }
+
+    void endDelivery() {
+        if (deliveryDepth != null) {
+            deliveryDepth.get()[0]--;
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suppresses events of a debounced or throttled subscription, see {@link Subscribe#debounceMillis()} and
+ * {@link Subscribe#throttleMillis()}. Only the latest suppressed event is kept; it is delivered by a timer of the
+ * bus' {@link TimingWheel}, so suppressed events never reach a poster.
+ */
+final class RateLimiter implements Runnable {
+    private final EventBus eventBus;
+    private final Subscription subscription;
+    private final boolean debounce;
+    private final long intervalMillis;
+    private final long intervalNanos;
+
+    /** Guarded by this. */
+    private Object pendingEvent;
+    private boolean hasPendingEvent;
+    private boolean timerRunning;
+    private long lastEventNanos;
+
+    RateLimiter(EventBus eventBus, Subscription subscription, boolean debounce, long intervalMillis) {
+        this.eventBus = eventBus;
+        this.subscription = subscription;
+        this.debounce = debounce;
+        this.intervalMillis = intervalMillis;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    /**
+     * Offers a posted event.
+     *
+     * @return true if the event must be delivered now (the first event of a throttle interval), false if the
+     * limiter took over the event
+     */
+    boolean offer(Object event) {
+        Object replacedEvent;
+        boolean hadPendingEvent;
+        synchronized (this) {
+            if (!debounce && !timerRunning) {
+                timerRunning = true;
+                eventBus.getTimingWheel().schedule(this, intervalMillis);
+                return true;
+            }
+            EventBus.retainEvent(event);
+            replacedEvent = pendingEvent;
+            hadPendingEvent = hasPendingEvent;
+            pendingEvent = event;
+            hasPendingEvent = true;
+            lastEventNanos = System.nanoTime();
+            if (!timerRunning) {
+                timerRunning = true;
+                eventBus.getTimingWheel().schedule(this, intervalMillis);
+            }
+        }
+        if (hadPendingEvent) {
+            EventBus.releaseEvent(replacedEvent);
+        }
+        return false;
+    }
+
+    /** Timer task: delivers the pending event if the interval is over. */
+    @Override
+    public void run() {
+        Object event;
+        synchronized (this) {
+            if (debounce) {
+                long remainingNanos = lastEventNanos + intervalNanos - System.nanoTime();
+                if (remainingNanos > 0) {
+                    // Events arrived meanwhile; rescheduling lazily saves cancelling the timer for each event
+                    eventBus.getTimingWheel().schedule(this, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+                    return;
+                }
+                timerRunning = false;
+            } else if (hasPendingEvent) {
+                // The delivery opens the next interval
+                eventBus.getTimingWheel().schedule(this, intervalMillis);
+            } else {
+                timerRunning = false;
+                return;
+            }
+            event = pendingEvent;
+            pendingEvent = null;
+            hasPendingEvent = false;
+        }
+        eventBus.deliverRetained(subscription, event);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Base class for events that are reused instead of becoming garbage after delivery. Obtain them from an
+ * {@link EventPool}; each obtained event starts with one reference owned by the caller. Posting the event hands
+ * this reference over to EventBus, which keeps the event referenced until all subscribers (in all thread modes) were
+ * called and while it is kept as sticky event. Once the last reference is released, the event is returned to its
+ * pool. Thus, subscribers must not keep the event (or data referenced by it) after their method returned, unless
+ * they call {@link #retain()} and later {@link #release()}.
+ * <p/>
+ * Events created without pool (e.g. using new) are not reference counted and behave like any other event.
+ */
+public abstract class RecyclableEvent {
+    private static final AtomicIntegerFieldUpdater<RecyclableEvent> REFERENCE_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(RecyclableEvent.class, "referenceCount");
+
+    private volatile int referenceCount;
+    private EventPool<RecyclableEvent> pool;
+
+    /** Called by the pool when the event is obtained. */
+    @SuppressWarnings("unchecked")
+    final void init(EventPool<? extends RecyclableEvent> pool) {
+        this.pool = (EventPool<RecyclableEvent>) pool;
+        referenceCount = 1;
+    }
+
+    /** Adds a reference to keep this event from being recycled; must be followed by {@link #release()}. */
+    public final void retain() {
+        if (pool != null && REFERENCE_COUNT.getAndIncrement(this) <= 0) {
+            throw new EventBusException("Event was already recycled: " + this);
+        }
+    }
+
+    /** Releases a reference; the event is returned to its pool with the last reference. */
+    public final void release() {
+        if (pool != null) {
+            int count = REFERENCE_COUNT.decrementAndGet(this);
+            if (count == 0) {
+                pool.recycle(this);
+            } else if (count < 0) {
+                throw new EventBusException("Event was released more often than retained: " + this);
+            }
+        }
+    }
+
+    /** Number of references; 0 if the event was recycled or is not pooled. */
+    public final int getReferenceCount() {
+        return referenceCount;
+    }
+
+    /**
+     * Called before the event is returned to its pool. Override to clear state, but keep resources worth reusing
+     * (e.g. a direct ByteBuffer payload, which is expensive to allocate).
+     */
+    protected void onRecycle() {
+    }
+}
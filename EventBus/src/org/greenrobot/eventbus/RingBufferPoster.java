@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+/**
+ * Posts events in background using a ring buffer with preallocated slots instead of a {@link PendingPostQueue}.
+ * Posting threads claim slots by sequence number (CAS), and each slot's own sequence tells whether it may be
+ * written or read. Thus neither locks nor {@link PendingPost} objects are involved once the poster is running.
+ * <p/>
+ * Serial ring buffer posters deliver one event after another (BACKGROUND), otherwise each event is delivered by its
+ * own executor task (ASYNC). Posting threads wait according to the {@link WaitStrategy} while the ring buffer is full.
+ */
+final class RingBufferPoster implements Runnable, Poster {
+
+    /** Ring buffer settings for a thread mode, see {@link EventBusBuilder#ringBufferPoster}. */
+    static final class Config {
+        final int capacity;
+        final WaitStrategy waitStrategy;
+
+        Config(int capacity, WaitStrategy waitStrategy) {
+            this.capacity = capacity;
+            this.waitStrategy = waitStrategy;
+        }
+    }
+
+    private final EventBus eventBus;
+    private final boolean serial;
+    private final WaitStrategy waitStrategy;
+    private final int mask;
+    /** How long a serial consumer waits for new events before it gives its thread back to the executor. */
+    private final long keepAliveNanos;
+    /** How often a serial consumer waits according to the wait strategy before it parks for the keep alive time. */
+    private final int spinsBeforePark;
+
+    /**
+     * Per slot: equals the claimable producer sequence if the slot is free, the producer sequence + 1 once the slot
+     * was published, and advances by the capacity once the slot was consumed.
+     */
+    private final AtomicLongArray slotSequences;
+    private final Subscription[] subscriptions;
+    private final Object[] events;
+    private final int[] signalKeys;
+    private final long[] signalValues;
+
+    private final AtomicLong producerSequence = new AtomicLong();
+    private final AtomicLong consumerSequence = new AtomicLong();
+
+    /** Serial mode only. */
+    private final AtomicBoolean executorRunning = new AtomicBoolean();
+    private volatile Thread consumerThread;
+    /** Serial mode only: set while the consumer parks, so posting threads know they have to unpark it. */
+    private volatile boolean consumerParked;
+
+    RingBufferPoster(EventBus eventBus, Config config, boolean serial, long keepAliveNanos, int spinsBeforePark) {
+        this.eventBus = eventBus;
+        this.serial = serial;
+        this.keepAliveNanos = keepAliveNanos;
+        this.spinsBeforePark = spinsBeforePark;
+        waitStrategy = config.waitStrategy;
+        int capacity = Integer.highestOneBit(config.capacity);
+        if (capacity < config.capacity) {
+            capacity <<= 1;
+        }
+        mask = capacity - 1;
+        slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, i);
+        }
+        subscriptions = new Subscription[capacity];
+        events = new Object[capacity];
+        signalKeys = new int[capacity];
+        signalValues = new long[capacity];
+    }
+
+    int getCapacity() {
+        return mask + 1;
+    }
+
+    public void enqueue(Subscription subscription, Object event) {
+        publish(subscription, event, 0, 0);
+        startDelivery(1);
+    }
+
+    public void enqueueAll(PendingPost first, PendingPost last, int count) {
+        PendingPost pendingPost = first;
+        while (pendingPost != null) {
+            PendingPost next = pendingPost.next;
+            publish(pendingPost.subscription, pendingPost.event, pendingPost.signalKey, pendingPost.signalValue);
+            PendingPost.releasePendingPost(pendingPost);
+            if (pendingPost == last) {
+                break;
+            }
+            pendingPost = next;
+        }
+        startDelivery(count);
+    }
+
+    /** Ring buffers are bounded by their capacity already. */
+    public PendingPost pollOldest() {
+        return null;
+    }
+
+    public boolean isDeliveryThread() {
+        return serial && consumerThread == Thread.currentThread();
+    }
+
+    private void publish(Subscription subscription, Object event, int signalKey, long signalValue) {
+        long sequence;
+        int index;
+        int attempt = 0;
+        while (true) {
+            sequence = producerSequence.get();
+            index = (int) sequence & mask;
+            long slotSequence = slotSequences.get(index);
+            if (slotSequence == sequence) {
+                if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+            } else if (slotSequence < sequence) {
+                // Full: wait until the slot's previous event was consumed
+                if (serial && consumerThread == Thread.currentThread()) {
+                    throw new EventBusException("Ring buffer full (capacity " + getCapacity() +
+                            "), the delivering thread cannot wait for itself");
+                }
+                waitStrategy.idle(attempt++);
+            }
+            // Otherwise another thread claimed the sequence, so try the next one
+        }
+        subscriptions[index] = subscription;
+        events[index] = event;
+        signalKeys[index] = signalKey;
+        signalValues[index] = signalValue;
+        slotSequences.set(index, sequence + 1);
+    }
+
+    private void startDelivery(int count) {
+        if (serial) {
+            if (!executorRunning.get() && executorRunning.compareAndSet(false, true)) {
+                try {
+                    eventBus.getExecutorService().execute(this);
+                } catch (RejectedExecutionException e) {
+                    // The events stay in the ring buffer; the next post starts the consumer again
+                    executorRunning.set(false);
+                    throw e;
+                }
+            } else if (consumerParked) {
+                Thread thread = consumerThread;
+                if (thread != null) {
+                    LockSupport.unpark(thread);
+                }
+            }
+        } else {
+            // Each run delivers exactly one event
+            for (int i = 0; i < count; i++) {
+                try {
+                    eventBus.getAsyncExecutorService().execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Events without a task would never leave the ring buffer, so drop as many as tasks are missing
+                    for (; i < count; i++) {
+                        consumeNext(false);
+                    }
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /** Delivers the next published event, if any; waits only for events claimed but not yet published. */
+    private boolean deliverNext() {
+        return consumeNext(true);
+    }
+
+    /**
+     * Takes the next published event, if any, and delivers or discards it; waits only for events claimed but not yet
+     * published.
+     */
+    private boolean consumeNext(boolean deliver) {
+        int attempt = 0;
+        while (true) {
+            long sequence = consumerSequence.get();
+            int index = (int) sequence & mask;
+            long slotSequence = slotSequences.get(index);
+            if (slotSequence == sequence + 1) {
+                if (serial) {
+                    consumerSequence.set(sequence + 1);
+                } else if (!consumerSequence.compareAndSet(sequence, sequence + 1)) {
+                    continue;
+                }
+                Subscription subscription = subscriptions[index];
+                Object event = events[index];
+                int signalKey = signalKeys[index];
+                long signalValue = signalValues[index];
+                subscriptions[index] = null;
+                events[index] = null;
+                slotSequences.set(index, sequence + mask + 1);
+                if (deliver) {
+                    eventBus.invokeSubscriber(subscription, event, signalKey, signalValue);
+                } else {
+                    EventBus.discardQueued(subscription, event);
+                }
+                return true;
+            } else if (slotSequence == sequence) {
+                if (producerSequence.get() == sequence) {
+                    return false;
+                }
+                // A posting thread claimed the slot and is about to publish
+                waitStrategy.idle(attempt++);
+            }
+            // Otherwise another consumer took the event, so try the next one
+        }
+    }
+
+    @Override
+    public void run() {
+        if (!serial) {
+            // Usually delivers the event this task was started for; there is none if it was discarded already
+            deliverNext();
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        consumerThread = thread;
+        boolean stopped = false;
+        try {
+            while (true) {
+                if (deliverNext()) {
+                    continue;
+                }
+                if (awaitEvent()) {
+                    continue;
+                }
+                // Clear before stopping to not interfere with the next consumer
+                consumerThread = null;
+                executorRunning.set(false);
+                // Check again: a posting thread may have published after the last check but seen us running
+                if (producerSequence.get() == consumerSequence.get() || !executorRunning.compareAndSet(false, true)) {
+                    stopped = true;
+                    return;
+                }
+                consumerThread = thread;
+            }
+        } finally {
+            if (!stopped) {
+                // A subscriber exception escaped (see EventBusBuilder#throwSubscriberException)
+                consumerThread = null;
+                executorRunning.set(false);
+            }
+        }
+    }
+
+    /**
+     * Waits according to the wait strategy only briefly, then parks until a posting thread unparks it, so an idle
+     * consumer does not burn CPU time for the whole keep alive time.
+     *
+     * @return true if an event became available within the keep alive time
+     */
+    private boolean awaitEvent() {
+        for (int attempt = 0; attempt < spinsBeforePark; attempt++) {
+            if (producerSequence.get() != consumerSequence.get()) {
+                return true;
+            }
+            waitStrategy.idle(attempt);
+        }
+        long deadline = System.nanoTime() + keepAliveNanos;
+        while (producerSequence.get() == consumerSequence.get()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            consumerParked = true;
+            // Check again: a posting thread may have published after the last check but not seen us parked
+            if (producerSequence.get() == consumerSequence.get()) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            consumerParked = false;
+            if (Thread.interrupted()) {
+                eventBus.getLogger().log(Level.WARNING, Thread.currentThread().getName() + " was interrupted");
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
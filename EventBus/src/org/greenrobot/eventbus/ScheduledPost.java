@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event scheduled to be posted later, see {@link EventBus#postDelayed(Object, long)},
+ * {@link EventBus#postAt(Object, long)} and {@link EventBus#postPeriodically(Object, long, long)}. When due, the event
+ * is posted from a thread of the bus' executor service (see
+ * {@link EventBusBuilder#executorService(java.util.concurrent.ExecutorService)}), so subscribers never block the
+ * timer thread.
+ * <p/>
+ * A scheduled post takes over the caller's reference to a {@link RecyclableEvent}. Posts of a periodic event each
+ * use a reference of their own, and the scheduled post releases its reference once it is canceled.
+ */
+public final class ScheduledPost {
+    private final EventBus eventBus;
+    private final Object event;
+    private final long periodNanos;
+    private final Runnable timerTask = new Runnable() {
+        @Override
+        public void run() {
+            fire();
+        }
+    };
+    private final Runnable postTask = new Runnable() {
+        @Override
+        public void run() {
+            eventBus.post(event);
+        }
+    };
+
+    /** Guarded by this. */
+    private TimingWheel.Timeout timeout;
+    private long nextNanos;
+    private boolean done;
+    private boolean canceled;
+
+    ScheduledPost(EventBus eventBus, Object event, long periodMillis) {
+        if (event == null) {
+            throw new NullPointerException("event");
+        }
+        this.eventBus = eventBus;
+        this.event = event;
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+    }
+
+    synchronized void schedule(long delayMillis) {
+        nextNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+        timeout = eventBus.getTimingWheel().schedule(timerTask, delayMillis);
+    }
+
+    private void fire() {
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            if (periodNanos > 0) {
+                // At a fixed rate: a late post does not delay the following ones
+                nextNanos += periodNanos;
+                long delayNanos = nextNanos - System.nanoTime();
+                timeout = eventBus.getTimingWheel().schedule(timerTask, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+                EventBus.retainEvent(event);
+            } else {
+                // The post takes over the reference
+                done = true;
+            }
+        }
+        eventBus.getExecutorService().execute(postTask);
+    }
+
+    /**
+     * Cancels the scheduled post. Posts that are already due are not affected.
+     *
+     * @return false if the event was already posted (non-periodic post) or the post was canceled before
+     */
+    public boolean cancel() {
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            done = true;
+            canceled = true;
+            timeout.cancel();
+        }
+        EventBus.releaseEvent(event);
+        return true;
+    }
+
+    /** @return true if the post was canceled */
+    public synchronized boolean isCanceled() {
+        return canceled;
+    }
+
+    /** @return true if the post was canceled or, unless periodic, its event is due and handed over for posting */
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    public Object getEvent() {
+        return event;
+    }
+
+    public boolean isPeriodic() {
+        return periodNanos > 0;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+/**
+ * Describes a primitive signal posted with {@link EventBus#post(int, long)}. Signals are delivered without creating
+ * objects; instances of this class are only created to report a signal, e.g. as
+ * {@link SubscriberExceptionEvent#causingEvent}.
+ */
+public final class Signal {
+    public final int key;
+    public final long value;
+
+    public Signal(int key, long value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        } else if (other instanceof Signal) {
+            Signal otherSignal = (Signal) other;
+            return key == otherSignal.key && value == otherSignal.value;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * key + (int) (value ^ (value >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "Signal(" + key + ", " + value + ")";
+    }
+}
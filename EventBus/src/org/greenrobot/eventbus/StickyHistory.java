@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+/**
+ * The most recent sticky events of one event class, see {@link EventBusBuilder#stickyHistory(Class, int)}. Events
+ * are linked from oldest to newest. Dropping the oldest event only moves the start, so a {@link Replay} taken
+ * before stays valid without copying the events. Guarded by the sticky events of the EventBus.
+ */
+final class StickyHistory {
+    private final int capacity;
+    private Node oldest;
+    private Node newest;
+    private int size;
+
+    StickyHistory(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /** Appends the (retained) event. @return the oldest event if it was dropped to stay within capacity, or null */
+    Object add(Object event) {
+        Node node = new Node(event);
+        if (newest != null) {
+            newest.next = node;
+        } else {
+            oldest = node;
+        }
+        newest = node;
+        if (++size > capacity) {
+            return removeOldest();
+        }
+        return null;
+    }
+
+    /** @return the oldest event, which the caller must release */
+    Object removeOldest() {
+        Node node = oldest;
+        oldest = node.next;
+        if (oldest == null) {
+            newest = null;
+        }
+        size--;
+        // The node keeps its next link for replays in progress
+        return node.event;
+    }
+
+    /** @return the most recently added event, or null if empty */
+    Object getNewestEvent() {
+        return newest != null ? newest.event : null;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Takes the given number of the newest events for replay, retaining them; the count must not exceed the size. */
+    Replay replay(int count) {
+        Node first = oldest;
+        for (int i = size - count; i > 0; i--) {
+            first = first.next;
+        }
+        Node node = first;
+        for (int i = 0; i < count; i++) {
+            EventBus.retainEvent(node.event);
+            node = node.next;
+        }
+        return new Replay(first, count);
+    }
+
+    static final class Node {
+        final Object event;
+        /** Written once, before a replay can reach it. */
+        Node next;
+
+        Node(Object event) {
+            this.event = event;
+        }
+    }
+
+    /** Retained events of a history in posting order; later additions to the history are not part of it. */
+    static final class Replay {
+        final Node first;
+        final int count;
+
+        Replay(Node first, int count) {
+            this.first = first;
+            this.count = count;
+        }
+    }
+}
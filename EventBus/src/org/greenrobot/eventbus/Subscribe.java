@@ -40,5 +40,79 @@ public @interface Subscribe {
      * others with a lower priority. The default priority is 0. Note: the priority does *NOT* affect the order of
      * delivery among subscribers with different {@link ThreadMode}s! */
     int priority() default 0;
+
+    /**
+     * Limits how many events an {@link ThreadMode#ASYNC} subscriber method handles concurrently (default: 0, no
+     * limit). Further events are queued until one of the invocations in flight completes; thus a burst of events
+     * occupies at most this number of threads. Use 1 to receive events one after another in posting order.
+     * Only valid for ASYNC.
+     */
+    int maxConcurrency() default 0;
+
+    /**
+     * Limits the number of events queued for this subscriber method (default: 0, no limit). Events delivered in the
+     * posting thread are not queued, so this is not valid for {@link ThreadMode#POSTING}. Once the limit is reached,
+     * the {@link #overflowPolicy()} applies. See also {@link EventBusBuilder#queueCapacity(ThreadMode, int,
+     * OverflowPolicy)} to limit the queue of a thread mode.
+     */
+    int queueCapacity() default 0;
+
+    /**
+     * What happens to events exceeding the {@link #queueCapacity()} (default: {@link OverflowPolicy#BLOCK}).
+     * {@link OverflowPolicy#DROP_OLDEST} is not available for single subscriber methods.
+     */
+    OverflowPolicy overflowPolicy() default OverflowPolicy.BLOCK;
+
+    /**
+     * If true, a queued event not delivered yet is replaced by newer events with the same key, see
+     * {@link #conflationKey()}. Thus, the subscriber method only gets the latest event per key, and the number of
+     * queued events is limited to the number of distinct keys. Events delivered in the posting thread are not queued,
+     * so this is not valid for {@link ThreadMode#POSTING} and signal subscriber methods.
+     */
+    boolean conflate() default false;
+
+    /**
+     * Extracts the keys of conflated events (see {@link #conflate()}); the default conflates all events. EventBus
+     * creates the extractor using its no-arg constructor.
+     */
+    Class<? extends KeyExtractor<?>> conflationKey() default KeyExtractor.SameKey.class;
+
+    /**
+     * If greater than 0 (default: 0), the subscriber method consumes events in batches: it takes a
+     * {@code java.util.List} of the event type, for example {@code onEvents(List<MyEvent> events)}, and gets up to
+     * this number of events per call. Events queue up for the subscriber method while it is busy or the batch is
+     * lingering, see {@link #maxLingerMillis()}. Batches are always delivered by the thread mode's queue, so
+     * {@link ThreadMode#POSTING} is not valid. The list belongs to the subscriber method, but
+     * {@link RecyclableEvent}s in it are released after the call.
+     */
+    int maxBatchSize() default 0;
+
+    /**
+     * How long the first event of an incomplete batch may wait for more events (default: 0, deliver without
+     * waiting). A batch reaching {@link #maxBatchSize()} is delivered right away.
+     */
+    long maxLingerMillis() default 0;
+
+    /**
+     * If greater than 0 (default: 0), events are held back until none was posted for this number of milliseconds;
+     * then, only the latest event is delivered. Suppressed events are dropped before they are queued. Held back
+     * events are delivered through the thread mode's queue, so {@link ThreadMode#POSTING} is not valid.
+     */
+    long debounceMillis() default 0;
+
+    /**
+     * If greater than 0 (default: 0), at most one event is delivered per this number of milliseconds: the first
+     * event right away, and the latest event posted during the interval once it is over, which starts the next
+     * interval. Other events are dropped before they are queued. Like {@link #debounceMillis()}, this is not valid for
+     * {@link ThreadMode#POSTING}.
+     */
+    long throttleMillis() default 0;
+
+    /**
+     * For {@link #sticky()} subscriber methods: delivers up to this number of the most recent sticky events of each
+     * event type in posting order (default: 0, just the most recent sticky event). Event types need a sticky history
+     * (see {@link EventBusBuilder#stickyHistory(Class, int)}) to keep more than the most recent sticky event.
+     */
+    int replay() default 0;
 }
 
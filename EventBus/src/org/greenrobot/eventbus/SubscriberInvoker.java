@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Calls a subscriber method. Implementations follow the contract of {@link java.lang.reflect.Method#invoke}:
+ * anything thrown by the subscriber method itself is wrapped in an {@link InvocationTargetException}.
+ */
+interface SubscriberInvoker {
+    void invoke(Object subscriber, Object event) throws InvocationTargetException, IllegalAccessException;
+}
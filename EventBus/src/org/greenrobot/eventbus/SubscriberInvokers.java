@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.greenrobot.eventbus.meta.AbstractSubscriberDispatcher;
+import org.greenrobot.eventbus.meta.SubscriberDispatcher;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Creates {@link SubscriberInvoker}s. Uses classes spun by java.lang.invoke.LambdaMetafactory (see
+ * {@link MethodHandleInvokers}) if the runtime provides it, and falls back to plain reflection otherwise. Android
+ * does not provide LambdaMetafactory at runtime (its lambdas are desugared at build time), so it always uses
+ * reflection, unless an index with generated dispatchers is available.
+ */
+final class SubscriberInvokers {
+    private static final boolean METHOD_HANDLES_AVAILABLE = isClassAvailable("java.lang.invoke.LambdaMetafactory");
+
+    private SubscriberInvokers() {
+    }
+
+    static SubscriberInvoker create(Method method) {
+        if (METHOD_HANDLES_AVAILABLE) {
+            try {
+                SubscriberInvoker invoker = MethodHandleInvokers.create(method);
+                if (invoker != null) {
+                    return invoker;
+                }
+            } catch (Exception e) {
+                // Not supported for this method, e.g. because of access restrictions; reflection will do
+            } catch (LinkageError e) {
+                // Not supported by the runtime after all; reflection will do
+            }
+        }
+        return new ReflectionInvoker(method);
+    }
+
+    static SignalInvoker createSignalInvoker(Method method) {
+        if (METHOD_HANDLES_AVAILABLE) {
+            try {
+                SignalInvoker invoker = MethodHandleInvokers.createSignalInvoker(method);
+                if (invoker != null) {
+                    return invoker;
+                }
+            } catch (Exception e) {
+                // Not supported for this method, e.g. because of access restrictions; reflection will do
+            } catch (LinkageError e) {
+                // Not supported by the runtime after all; reflection will do
+            }
+        }
+        return new ReflectionSignalInvoker(method);
+    }
+
+    private static boolean isClassAvailable(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    static final class ReflectionInvoker implements SubscriberInvoker {
+        private final Method method;
+
+        ReflectionInvoker(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public void invoke(Object subscriber, Object event) throws InvocationTargetException, IllegalAccessException {
+            method.invoke(subscriber, event);
+        }
+    }
+
+    /** Boxes key and value; only used if no spun class or generated dispatcher is available (e.g. on Android). */
+    static final class ReflectionSignalInvoker implements SignalInvoker {
+        private final Method method;
+
+        ReflectionSignalInvoker(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public void invoke(Object subscriber, int key, long value) throws InvocationTargetException,
+                IllegalAccessException {
+            method.invoke(subscriber, key, value);
+        }
+    }
+
+    /** Calls a method through a dispatcher generated by EventBus' annotation processor. */
+    static final class DispatcherInvoker implements SubscriberInvoker {
+        private final SubscriberDispatcher dispatcher;
+        private final int methodIndex;
+
+        DispatcherInvoker(SubscriberDispatcher dispatcher, int methodIndex) {
+            this.dispatcher = dispatcher;
+            this.methodIndex = methodIndex;
+        }
+
+        @Override
+        public void invoke(Object subscriber, Object event) throws InvocationTargetException {
+            try {
+                dispatcher.dispatch(methodIndex, subscriber, event);
+            } catch (Throwable th) {
+                throw new InvocationTargetException(th);
+            }
+        }
+    }
+
+    /** Calls a signal method through a dispatcher generated by EventBus' annotation processor. */
+    static final class SignalDispatcherInvoker implements SignalInvoker {
+        private final AbstractSubscriberDispatcher dispatcher;
+        private final int methodIndex;
+
+        SignalDispatcherInvoker(AbstractSubscriberDispatcher dispatcher, int methodIndex) {
+            this.dispatcher = dispatcher;
+            this.methodIndex = methodIndex;
+        }
+
+        @Override
+        public void invoke(Object subscriber, int key, long value) throws InvocationTargetException {
+            try {
+                dispatcher.dispatchSignal(methodIndex, subscriber, key, value);
+            } catch (Throwable th) {
+                throw new InvocationTargetException(th);
+            }
+        }
+    }
+
+}
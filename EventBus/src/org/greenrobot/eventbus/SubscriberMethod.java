@@ -15,26 +15,181 @@
  */
 package org.greenrobot.eventbus;
 
+import org.greenrobot.eventbus.meta.AbstractSubscriberDispatcher;
+import org.greenrobot.eventbus.meta.SubscriberDispatcher;
+
 import java.lang.reflect.Method;
+import java.util.List;
 
 /** Used internally by EventBus and generated subscriber indexes. */
 public class SubscriberMethod {
-    final Method method;
+    /**
+     * Event type of signal subscriber methods with the parameters (int key, long value), see
+     * {@link EventBus#post(int, long)}. Posted events never have a primitive class, so it can't clash with events.
+     */
+    public static final Class<?> SIGNAL_TYPE = long.class;
+
+    final Class<?> declaringClass;
+    final String methodName;
     final ThreadMode threadMode;
     final Class<?> eventType;
     final int priority;
     final boolean sticky;
+    /** See {@link Subscribe#maxConcurrency()}; set before registration. */
+    int maxConcurrency;
+    /** See {@link Subscribe#queueCapacity()}; set before registration. */
+    int queueCapacity;
+    OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    /** See {@link Subscribe#conflate()}; set before registration. */
+    boolean conflate;
+    KeyExtractor<?> conflationKey;
+    /** See {@link Subscribe#maxBatchSize()}; set before registration. The method takes a list if greater than 0. */
+    int maxBatchSize;
+    long maxLingerMillis;
+    /** See {@link Subscribe#debounceMillis()} and {@link Subscribe#throttleMillis()}; set before registration. */
+    long debounceMillis;
+    long throttleMillis;
+    /** See {@link Subscribe#replay()}; set before registration. */
+    int replay;
     /** Used for efficient comparison */
     String methodString;
+    /** Looked up lazily if the method is called by a generated dispatcher, see {@link #getMethod()}. */
+    private volatile Method method;
+    /** Created lazily on first delivery, see {@link #getInvoker()}. */
+    private volatile SubscriberInvoker invoker;
+    /** Created lazily on first delivery of a signal, see {@link #getSignalInvoker()}. */
+    private volatile SignalInvoker signalInvoker;
 
     public SubscriberMethod(Method method, Class<?> eventType, ThreadMode threadMode, int priority, boolean sticky) {
         this.method = method;
+        this.declaringClass = method.getDeclaringClass();
+        this.methodName = method.getName();
         this.threadMode = threadMode;
         this.eventType = eventType;
         this.priority = priority;
         this.sticky = sticky;
     }
 
+    /**
+     * Creates a subscriber method called by a dispatcher generated by EventBus' annotation processor; neither
+     * registration nor event delivery require reflection for it.
+     */
+    public SubscriberMethod(Class<?> declaringClass, String methodName, Class<?> eventType, ThreadMode threadMode,
+                            int priority, boolean sticky, SubscriberDispatcher dispatcher, int methodIndex) {
+        this.declaringClass = declaringClass;
+        this.methodName = methodName;
+        this.threadMode = threadMode;
+        this.eventType = eventType;
+        this.priority = priority;
+        this.sticky = sticky;
+        this.invoker = new SubscriberInvokers.DispatcherInvoker(dispatcher, methodIndex);
+        if (dispatcher instanceof AbstractSubscriberDispatcher) {
+            this.signalInvoker = new SubscriberInvokers.SignalDispatcherInvoker(
+                    (AbstractSubscriberDispatcher) dispatcher, methodIndex);
+        }
+    }
+
+    /** Sets {@link Subscribe#maxConcurrency()}; for subscriber method creators only. */
+    public SubscriberMethod maxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /** Sets {@link Subscribe#queueCapacity()} and its overflow policy; for subscriber method creators only. */
+    public SubscriberMethod queueCapacity(int queueCapacity, OverflowPolicy overflowPolicy) {
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * Sets {@link Subscribe#conflate()}; for subscriber method creators only.
+     *
+     * @param conflationKey extracts the key of events, or null to conflate all events
+     */
+    public SubscriberMethod conflate(KeyExtractor<?> conflationKey) {
+        this.conflate = true;
+        this.conflationKey = conflationKey;
+        return this;
+    }
+
+    /**
+     * Sets {@link Subscribe#maxBatchSize()} and {@link Subscribe#maxLingerMillis()} for a method taking a list of
+     * events; for subscriber method creators only.
+     */
+    public SubscriberMethod batch(int maxBatchSize, long maxLingerMillis) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerMillis = maxLingerMillis;
+        return this;
+    }
+
+    /** Sets {@link Subscribe#debounceMillis()}; for subscriber method creators only. */
+    public SubscriberMethod debounce(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+        return this;
+    }
+
+    /** Sets {@link Subscribe#throttleMillis()}; for subscriber method creators only. */
+    public SubscriberMethod throttle(long throttleMillis) {
+        this.throttleMillis = throttleMillis;
+        return this;
+    }
+
+    /** Sets {@link Subscribe#replay()}; for subscriber method creators only. */
+    public SubscriberMethod replay(int replay) {
+        this.replay = replay;
+        return this;
+    }
+
+    /** True for batch-consuming subscriber methods, which take a list of events. */
+    boolean isBatch() {
+        return maxBatchSize > 0;
+    }
+
+    /** True for signal subscriber methods, which have the parameters (int key, long value). */
+    boolean isSignal() {
+        return eventType == SIGNAL_TYPE;
+    }
+
+    /** Gets the invoker used to call the method; a race may create it twice, which is harmless. */
+    SubscriberInvoker getInvoker() {
+        SubscriberInvoker invoker = this.invoker;
+        if (invoker == null) {
+            invoker = SubscriberInvokers.create(getMethod());
+            this.invoker = invoker;
+        }
+        return invoker;
+    }
+
+    /** Gets the invoker used to call a signal subscriber method without boxing. */
+    SignalInvoker getSignalInvoker() {
+        SignalInvoker signalInvoker = this.signalInvoker;
+        if (signalInvoker == null) {
+            signalInvoker = SubscriberInvokers.createSignalInvoker(getMethod());
+            this.signalInvoker = signalInvoker;
+        }
+        return signalInvoker;
+    }
+
+    /** Gets the reflective method, which is only looked up on demand for methods called by a dispatcher. */
+    Method getMethod() {
+        Method method = this.method;
+        if (method == null) {
+            try {
+                if (isSignal()) {
+                    method = declaringClass.getDeclaredMethod(methodName, int.class, long.class);
+                } else {
+                    method = declaringClass.getDeclaredMethod(methodName, isBatch() ? List.class : eventType);
+                }
+            } catch (NoSuchMethodException e) {
+                throw new EventBusException("Could not find subscriber method in " + declaringClass +
+                        ". Maybe a missing ProGuard rule?", e);
+            }
+            this.method = method;
+        }
+        return method;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -54,15 +209,20 @@ public class SubscriberMethod {
         if (methodString == null) {
             // Method.toString has more overhead, just take relevant parts of the method
             StringBuilder builder = new StringBuilder(64);
-            builder.append(method.getDeclaringClass().getName());
-            builder.append('#').append(method.getName());
-            builder.append('(').append(eventType.getName());
+            builder.append(declaringClass.getName());
+            builder.append('#').append(methodName);
+            builder.append('(');
+            if (isBatch()) {
+                builder.append("java.util.List<");
+            }
+            builder.append(eventType.getName());
             methodString = builder.toString();
         }
     }
 
     @Override
     public int hashCode() {
-        return method.hashCode();
+        // Same as Method.hashCode()
+        return declaringClass.getName().hashCode() ^ methodName.hashCode();
     }
 }
\ No newline at end of file
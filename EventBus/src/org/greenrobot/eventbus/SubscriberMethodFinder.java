@@ -18,9 +18,15 @@ package org.greenrobot.eventbus;
 import org.greenrobot.eventbus.meta.SubscriberInfo;
 import org.greenrobot.eventbus.meta.SubscriberInfoIndex;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -80,7 +86,7 @@ class SubscriberMethodFinder {
             if (findState.subscriberInfo != null) {
                 SubscriberMethod[] array = findState.subscriberInfo.getSubscriberMethods();
                 for (SubscriberMethod subscriberMethod : array) {
-                    if (findState.checkAdd(subscriberMethod.method, subscriberMethod.eventType)) {
+                    if (findState.checkAdd(subscriberMethod)) {
                         findState.subscriberMethods.add(subscriberMethod);
                     }
                 }
@@ -171,20 +177,44 @@ class SubscriberMethodFinder {
             int modifiers = method.getModifiers();
             if ((modifiers & Modifier.PUBLIC) != 0 && (modifiers & MODIFIERS_IGNORE) == 0) {
                 Class<?>[] parameterTypes = method.getParameterTypes();
-                if (parameterTypes.length == 1) {
+                boolean signal = isSignalMethod(parameterTypes);
+                if ((parameterTypes.length == 1 && !parameterTypes[0].isPrimitive()) || signal) {
                     Subscribe subscribeAnnotation = method.getAnnotation(Subscribe.class);
                     if (subscribeAnnotation != null) {
-                        Class<?> eventType = parameterTypes[0];
-                        if (findState.checkAdd(method, eventType)) {
-                            ThreadMode threadMode = subscribeAnnotation.threadMode();
-                            findState.subscriberMethods.add(new SubscriberMethod(method, eventType, threadMode,
-                                    subscribeAnnotation.priority(), subscribeAnnotation.sticky()));
+                        checkSubscribeAnnotation(method, subscribeAnnotation, signal);
+                        Class<?> eventType;
+                        if (signal) {
+                            eventType = SubscriberMethod.SIGNAL_TYPE;
+                        } else if (subscribeAnnotation.maxBatchSize() > 0) {
+                            eventType = getBatchEventType(method);
+                        } else {
+                            eventType = parameterTypes[0];
+                        }
+                        ThreadMode threadMode = subscribeAnnotation.threadMode();
+                        SubscriberMethod subscriberMethod = new SubscriberMethod(method, eventType, threadMode,
+                                subscribeAnnotation.priority(), subscribeAnnotation.sticky())
+                                .maxConcurrency(subscribeAnnotation.maxConcurrency())
+                                .queueCapacity(subscribeAnnotation.queueCapacity(),
+                                        subscribeAnnotation.overflowPolicy());
+                        if (subscribeAnnotation.conflate()) {
+                            subscriberMethod.conflate(createKeyExtractor(method, subscribeAnnotation));
+                        }
+                        if (subscribeAnnotation.maxBatchSize() > 0) {
+                            subscriberMethod.batch(subscribeAnnotation.maxBatchSize(),
+                                    subscribeAnnotation.maxLingerMillis());
+                        }
+                        subscriberMethod.debounce(subscribeAnnotation.debounceMillis())
+                                .throttle(subscribeAnnotation.throttleMillis())
+                                .replay(subscribeAnnotation.replay());
+                        if (findState.checkAdd(subscriberMethod)) {
+                            findState.subscriberMethods.add(subscriberMethod);
                         }
                     }
                 } else if (strictMethodVerification && method.isAnnotationPresent(Subscribe.class)) {
                     String methodName = method.getDeclaringClass().getName() + "." + method.getName();
                     throw new EventBusException("@Subscribe method " + methodName +
-                            "must have exactly 1 parameter but has " + parameterTypes.length);
+                            " must have exactly 1 non-primitive parameter (or int and long for signals) but has " +
+                            Arrays.toString(parameterTypes));
                 }
             } else if (strictMethodVerification && method.isAnnotationPresent(Subscribe.class)) {
                 String methodName = method.getDeclaringClass().getName() + "." + method.getName();
@@ -194,6 +224,127 @@ class SubscriberMethodFinder {
         }
     }
 
+    /** Rejects attribute combinations the annotation processor reports as errors, too. */
+    private static void checkSubscribeAnnotation(Method method, Subscribe subscribeAnnotation, boolean signal) {
+        String methodName = method.getDeclaringClass().getName() + "." + method.getName();
+        if (signal && subscribeAnnotation.sticky()) {
+            throw new EventBusException("Signal subscriber method " + methodName + " must not be sticky");
+        }
+        int maxConcurrency = subscribeAnnotation.maxConcurrency();
+        if (maxConcurrency < 0) {
+            throw new EventBusException("@Subscribe method " + methodName + " has a negative maxConcurrency");
+        } else if (maxConcurrency > 0 && subscribeAnnotation.threadMode() != ThreadMode.ASYNC) {
+            throw new EventBusException("@Subscribe method " + methodName + " uses maxConcurrency, which requires " +
+                    "ThreadMode.ASYNC");
+        }
+        int queueCapacity = subscribeAnnotation.queueCapacity();
+        if (queueCapacity < 0) {
+            throw new EventBusException("@Subscribe method " + methodName + " has a negative queueCapacity");
+        } else if (queueCapacity > 0 && subscribeAnnotation.threadMode() == ThreadMode.POSTING) {
+            throw new EventBusException("@Subscribe method " + methodName + " uses queueCapacity, but events are " +
+                    "not queued for ThreadMode.POSTING");
+        } else if (subscribeAnnotation.overflowPolicy() == OverflowPolicy.DROP_OLDEST) {
+            throw new EventBusException("@Subscribe method " + methodName + " uses OverflowPolicy.DROP_OLDEST, " +
+                    "which is only available for thread modes");
+        }
+        if (subscribeAnnotation.conflate()) {
+            if (signal) {
+                throw new EventBusException("Signal subscriber method " + methodName + " must not conflate");
+            } else if (subscribeAnnotation.threadMode() == ThreadMode.POSTING) {
+                throw new EventBusException("@Subscribe method " + methodName + " conflates, but events are not " +
+                        "queued for ThreadMode.POSTING");
+            }
+        } else if (subscribeAnnotation.conflationKey() != KeyExtractor.SameKey.class) {
+            throw new EventBusException("@Subscribe method " + methodName + " has a conflationKey, but does not " +
+                    "conflate");
+        }
+        int maxBatchSize = subscribeAnnotation.maxBatchSize();
+        if (maxBatchSize < 0 || subscribeAnnotation.maxLingerMillis() < 0) {
+            throw new EventBusException("@Subscribe method " + methodName + " has a negative maxBatchSize or " +
+                    "maxLingerMillis");
+        } else if (maxBatchSize == 0 && subscribeAnnotation.maxLingerMillis() > 0) {
+            throw new EventBusException("@Subscribe method " + methodName + " has a maxLingerMillis, but no " +
+                    "maxBatchSize");
+        } else if (maxBatchSize > 0) {
+            if (signal) {
+                throw new EventBusException("Signal subscriber method " + methodName + " must not consume batches");
+            } else if (subscribeAnnotation.threadMode() == ThreadMode.POSTING) {
+                throw new EventBusException("@Subscribe method " + methodName + " consumes batches, but events are " +
+                        "not queued for ThreadMode.POSTING");
+            } else if (subscribeAnnotation.conflate() || subscribeAnnotation.queueCapacity() > 0) {
+                throw new EventBusException("@Subscribe method " + methodName + " consumes batches, which can't be " +
+                        "combined with conflate or queueCapacity");
+            }
+        }
+        long debounceMillis = subscribeAnnotation.debounceMillis();
+        long throttleMillis = subscribeAnnotation.throttleMillis();
+        if (debounceMillis < 0 || throttleMillis < 0) {
+            throw new EventBusException("@Subscribe method " + methodName + " has a negative debounceMillis or " +
+                    "throttleMillis");
+        } else if (debounceMillis > 0 || throttleMillis > 0) {
+            if (debounceMillis > 0 && throttleMillis > 0) {
+                throw new EventBusException("@Subscribe method " + methodName + " must not both debounce and " +
+                        "throttle");
+            } else if (signal) {
+                throw new EventBusException("Signal subscriber method " + methodName + " must not debounce or " +
+                        "throttle");
+            } else if (subscribeAnnotation.threadMode() == ThreadMode.POSTING) {
+                throw new EventBusException("@Subscribe method " + methodName + " debounces or throttles, which is " +
+                        "not available for ThreadMode.POSTING");
+            } else if (maxBatchSize > 0) {
+                throw new EventBusException("@Subscribe method " + methodName + " consumes batches, which can't be " +
+                        "debounced or throttled");
+            }
+        }
+        if (subscribeAnnotation.replay() < 0) {
+            throw new EventBusException("@Subscribe method " + methodName + " has a negative replay");
+        } else if (subscribeAnnotation.replay() > 0 && !subscribeAnnotation.sticky()) {
+            throw new EventBusException("@Subscribe method " + methodName + " uses replay, but is not sticky");
+        }
+    }
+
+    /** Gets the element type of the List parameter of a batch-consuming subscriber method. */
+    private static Class<?> getBatchEventType(Method method) {
+        Type parameterType = method.getGenericParameterTypes()[0];
+        if (method.getParameterTypes()[0] == List.class && parameterType instanceof ParameterizedType) {
+            Type elementType = ((ParameterizedType) parameterType).getActualTypeArguments()[0];
+            if (elementType instanceof WildcardType) {
+                elementType = ((WildcardType) elementType).getUpperBounds()[0];
+            }
+            if (elementType instanceof ParameterizedType) {
+                elementType = ((ParameterizedType) elementType).getRawType();
+            }
+            if (elementType instanceof Class) {
+                return (Class<?>) elementType;
+            }
+        }
+        throw new EventBusException("@Subscribe method " + method.getDeclaringClass().getName() + "." +
+                method.getName() + " has a maxBatchSize, so it must take a java.util.List of an event class, but " +
+                "takes " + parameterType);
+    }
+
+    /** @return the key extractor of the conflating subscriber method, or null to conflate all events */
+    private static KeyExtractor<?> createKeyExtractor(Method method, Subscribe subscribeAnnotation) {
+        Class<? extends KeyExtractor<?>> keyExtractorClass = subscribeAnnotation.conflationKey();
+        if (keyExtractorClass == KeyExtractor.SameKey.class) {
+            return null;
+        }
+        try {
+            Constructor<? extends KeyExtractor<?>> constructor = keyExtractorClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException |
+                InvocationTargetException e) {
+            throw new EventBusException("Could not create conflationKey " + keyExtractorClass.getName() +
+                    " of @Subscribe method " + method.getDeclaringClass().getName() + "." + method.getName(), e);
+        }
+    }
+
+    /** Signal subscriber methods take the key and value of {@link EventBus#post(int, long)}. */
+    private static boolean isSignalMethod(Class<?>[] parameterTypes) {
+        return parameterTypes.length == 2 && parameterTypes[0] == int.class && parameterTypes[1] == long.class;
+    }
+
     static void clearCaches() {
         METHOD_CACHE.clear();
     }
@@ -226,32 +377,37 @@ class SubscriberMethodFinder {
             subscriberInfo = null;
         }
 
-        boolean checkAdd(Method method, Class<?> eventType) {
+        boolean checkAdd(SubscriberMethod subscriberMethod) {
             // 2 level check: 1st level with event type only (fast), 2nd level with complete signature when required.
             // Usually a subscriber doesn't have methods listening to the same event type.
-            Object existing = anyMethodByEventType.put(eventType, method);
+            Class<?> eventType = subscriberMethod.eventType;
+            Object existing = anyMethodByEventType.put(eventType, subscriberMethod);
             if (existing == null) {
                 return true;
             } else {
-                if (existing instanceof Method) {
-                    if (!checkAddWithMethodSignature((Method) existing, eventType)) {
+                if (existing instanceof SubscriberMethod) {
+                    if (!checkAddWithMethodSignature((SubscriberMethod) existing)) {
                         // Paranoia check
                         throw new IllegalStateException();
                     }
-                    // Put any non-Method object to "consume" the existing Method
+                    // Put any non-SubscriberMethod object to "consume" the existing SubscriberMethod
                     anyMethodByEventType.put(eventType, this);
                 }
-                return checkAddWithMethodSignature(method, eventType);
+                return checkAddWithMethodSignature(subscriberMethod);
             }
         }
 
-        private boolean checkAddWithMethodSignature(Method method, Class<?> eventType) {
+        private boolean checkAddWithMethodSignature(SubscriberMethod subscriberMethod) {
             methodKeyBuilder.setLength(0);
-            methodKeyBuilder.append(method.getName());
-            methodKeyBuilder.append('>').append(eventType.getName());
+            methodKeyBuilder.append(subscriberMethod.methodName);
+            methodKeyBuilder.append('>');
+            if (subscriberMethod.isBatch()) {
+                methodKeyBuilder.append("java.util.List<");
+            }
+            methodKeyBuilder.append(subscriberMethod.eventType.getName());
 
             String methodKey = methodKeyBuilder.toString();
-            Class<?> methodClass = method.getDeclaringClass();
+            Class<?> methodClass = subscriberMethod.declaringClass;
             Class<?> methodClassOld = subscriberClassByMethodKey.put(methodKey, methodClass);
             if (methodClassOld == null || methodClassOld.isAssignableFrom(methodClass)) {
                 // Only add if not already found in a sub class
@@ -15,21 +15,97 @@
  */
 package org.greenrobot.eventbus;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 final class Subscription {
     final Object subscriber;
     final SubscriberMethod subscriberMethod;
+    /** Delivers ASYNC events if the subscriber method limits its concurrency, otherwise null. */
+    final Poster boundedAsyncPoster;
+    /** Counts the subscription's pending posts if its subscriber method limits them, otherwise null. */
+    final QueueLimit queueLimit;
+    /** Holds the queued events if the subscriber method conflates them, otherwise null. */
+    final Conflation conflation;
+    /** Collects the events for batch delivery if the subscriber method takes a list, otherwise null. */
+    final Batcher batcher;
+    /** Suppresses events if the subscriber method is debounced or throttled, otherwise null. */
+    final RateLimiter rateLimiter;
     /**
      * Becomes false as soon as {@link EventBus#unregister(Object)} is called, which is checked by queued event delivery
      * {@link EventBus#invokeSubscriber(PendingPost)} to prevent race conditions.
      */
     volatile boolean active;
+    /** True while events are held back during replay, see {@link #heldEvents}. */
+    private volatile boolean replaying;
+    /**
+     * While the sticky events of a new sticky subscription are replayed (outside the EventBus lock): the sticky
+     * events followed by events posted to the subscription in the meantime, which are held back to keep them in
+     * order. Guarded by this; null when not replaying.
+     */
+    private List<Object> heldEvents;
 
-    Subscription(Object subscriber, SubscriberMethod subscriberMethod) {
+    Subscription(EventBus eventBus, Object subscriber, SubscriberMethod subscriberMethod, Poster boundedAsyncPoster) {
         this.subscriber = subscriber;
         this.subscriberMethod = subscriberMethod;
+        this.boundedAsyncPoster = boundedAsyncPoster;
+        queueLimit = subscriberMethod.queueCapacity > 0 ?
+                new QueueLimit(subscriberMethod.queueCapacity, subscriberMethod.overflowPolicy) : null;
+        conflation = subscriberMethod.conflate ? new Conflation(subscriberMethod.conflationKey) : null;
+        batcher = subscriberMethod.maxBatchSize > 0 ? new Batcher(eventBus, this, subscriberMethod.maxBatchSize,
+                subscriberMethod.maxLingerMillis) : null;
+        if (subscriberMethod.debounceMillis > 0) {
+            rateLimiter = new RateLimiter(eventBus, this, true, subscriberMethod.debounceMillis);
+        } else if (subscriberMethod.throttleMillis > 0) {
+            rateLimiter = new RateLimiter(eventBus, this, false, subscriberMethod.throttleMillis);
+        } else {
+            rateLimiter = null;
+        }
         active = true;
     }
 
+    /** Starts holding back events; the given (retained) sticky events come first. */
+    synchronized void startReplay(List<Object> stickyEvents) {
+        heldEvents = stickyEvents;
+        replaying = true;
+    }
+
+    /** @return true if the event was retained and held back because the subscription is replaying */
+    boolean hold(Object event) {
+        if (!replaying) {
+            return false;
+        }
+        synchronized (this) {
+            if (heldEvents == null) {
+                return false;
+            }
+            EventBus.retainEvent(event);
+            heldEvents.add(event);
+            return true;
+        }
+    }
+
+    /** Takes the held events to deliver them; ends replaying if there are none left. @return null if ended */
+    synchronized List<Object> takeHeldEvents() {
+        List<Object> events = heldEvents;
+        if (events == null || events.isEmpty()) {
+            heldEvents = null;
+            replaying = false;
+            return null;
+        }
+        heldEvents = new ArrayList<>();
+        return events;
+    }
+
+    /** Ends replaying right away. @return the held events, which were not delivered */
+    synchronized List<Object> endReplay() {
+        List<Object> events = heldEvents;
+        heldEvents = null;
+        replaying = false;
+        return events != null ? events : Collections.<Object>emptyList();
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other instanceof Subscription) {
@@ -48,7 +48,8 @@ public enum ThreadMode {
     /**
      * On Android, subscriber will be called in a background thread. If posting thread is not the main thread, subscriber methods
      * will be called directly in the posting thread. If the posting thread is the main thread, EventBus uses a single
-     * background thread, that will deliver all its events sequentially. Subscribers using this mode should try to
+     * background thread, that will deliver all its events sequentially (or one thread per lane, see
+     * {@link EventBusBuilder#backgroundLanes(int)}). Subscribers using this mode should try to
      * return quickly to avoid blocking the background thread. If not on Android, always uses a background thread.
      */
     BACKGROUND,
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Hierarchical timing wheel running the timer tasks of an EventBus (e.g. for {@link Subscribe#debounceMillis()} and
+ * {@link EventBus#postDelayed(Object, long)}) in a single daemon thread, which is started on first use.
+ * <p/>
+ * The wheel has {@link #LEVELS} levels of {@link #SLOTS} buckets each; a bucket of level n spans SLOTS^n ticks.
+ * Scheduling and cancelling are O(1): a timeout is linked into the bucket of the lowest level whose span covers its
+ * delay. Each tick, the thread expires the current bucket of level 0. Whenever a level completes a revolution, the
+ * current bucket of the next level is cascaded, i.e. its timeouts are moved to lower levels. Thus, each timeout is
+ * moved at most once per level, and timeouts far in the future cost nothing until they come close.
+ * <p/>
+ * Timeouts expire with the tick following their deadline, so they are up to one tick late.
+ */
+final class TimingWheel implements Runnable {
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    /** With 10 ms ticks, 6 levels span more than 20 years; timeouts beyond stay in the top level until they are due. */
+    static final int LEVELS = 6;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickNanos;
+    /** The buckets of all levels, level by level. */
+    private final Timeout[] buckets = new Timeout[LEVELS * SLOTS];
+    private final Logger logger;
+
+    /** Guarded by this. */
+    private Thread thread;
+    private long startNanos;
+    /** The last tick whose bucket was processed. */
+    private long currentTick;
+    private int timeoutCount;
+
+    TimingWheel(long tickMillis, Logger logger) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.logger = logger;
+    }
+
+    synchronized boolean isTimerThread() {
+        return thread == Thread.currentThread();
+    }
+
+    /** Schedules the task to run in the timer thread after the delay; tasks must be short. */
+    synchronized Timeout schedule(Runnable task, long delayMillis) {
+        long nowNanos = System.nanoTime();
+        if (thread == null) {
+            startNanos = nowNanos;
+            thread = new Thread(this, "EventBus timer");
+            thread.setDaemon(true);
+            thread.start();
+        } else if (timeoutCount == 0) {
+            // The thread did not tick while idle, so catch up without visiting the skipped buckets
+            currentTick = Math.max(currentTick, (nowNanos - startNanos) / tickNanos);
+        }
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+        long deadlineNanos = nowNanos - startNanos + Math.min(delayNanos, Long.MAX_VALUE / 2);
+        // Round up to the tick ending at or after the deadline, but not before the next one
+        long deadlineTick = Math.max((deadlineNanos + tickNanos - 1) / tickNanos, currentTick + 1);
+        Timeout timeout = new Timeout(task, deadlineTick);
+        link(timeout);
+        if (timeoutCount++ == 0) {
+            notifyAll();
+        }
+        return timeout;
+    }
+
+    /** @return false if the timeout already expired or was cancelled */
+    synchronized boolean cancel(Timeout timeout) {
+        if (!timeout.scheduled) {
+            return false;
+        }
+        unlink(timeout);
+        timeout.scheduled = false;
+        timeoutCount--;
+        return true;
+    }
+
+    synchronized int size() {
+        return timeoutCount;
+    }
+
+    /** Links the timeout into the bucket for its deadline relative to the current tick. Guarded by this. */
+    private void link(Timeout timeout) {
+        long remainingTicks = timeout.deadlineTick - currentTick;
+        int level = 0;
+        if (remainingTicks >= SLOTS) {
+            int highestBit = 63 - Long.numberOfLeadingZeros(remainingTicks);
+            level = Math.min(highestBit / SLOT_BITS, LEVELS - 1);
+        }
+        int slot = (int) ((timeout.deadlineTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        int index = level * SLOTS + slot;
+        Timeout head = buckets[index];
+        if (head != null) {
+            timeout.next = head;
+            head.prev = timeout;
+        }
+        buckets[index] = timeout;
+        timeout.bucket = index;
+    }
+
+    /** Guarded by this. */
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /** Moves the timeouts of the current bucket of the given level to lower levels. Guarded by this. */
+    private void cascade(int level) {
+        int index = level * SLOTS + (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        Timeout timeout = buckets[index];
+        buckets[index] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            link(timeout);
+            timeout = next;
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            Timeout expired;
+            try {
+                expired = awaitTick();
+            } catch (InterruptedException e) {
+                logger.log(Level.WARNING, Thread.currentThread().getName() + " was interrupted", e);
+                return;
+            }
+            while (expired != null) {
+                Timeout next = expired.next;
+                expired.next = null;
+                try {
+                    expired.task.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.SEVERE, "Timer task failed", e);
+                }
+                expired = next;
+            }
+        }
+    }
+
+    /** Waits for the next tick and unlinks its expired timeouts. @return the expired timeouts linked by next */
+    private synchronized Timeout awaitTick() throws InterruptedException {
+        while (true) {
+            if (timeoutCount == 0) {
+                wait();
+                continue;
+            }
+            long waitNanos = startNanos + (currentTick + 1) * tickNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+                continue;
+            }
+            currentTick++;
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) != 0) {
+                    break;
+                }
+                cascade(level);
+            }
+            int index = (int) (currentTick & SLOT_MASK);
+            Timeout expired = buckets[index];
+            if (expired != null) {
+                // All timeouts of the current level 0 bucket are due: hand over the whole list
+                buckets[index] = null;
+                for (Timeout timeout = expired; timeout != null; timeout = timeout.next) {
+                    timeout.prev = null;
+                    timeout.scheduled = false;
+                    timeoutCount--;
+                }
+                return expired;
+            }
+        }
+    }
+
+    final class Timeout {
+        final Runnable task;
+        final long deadlineTick;
+        /** Guarded by the wheel. */
+        Timeout prev;
+        Timeout next;
+        int bucket;
+        boolean scheduled = true;
+
+        Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /** @return false if the timeout already expired or was cancelled */
+        boolean cancel() {
+            return TimingWheel.this.cancel(this);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes classes by all types they are assignable to (their class hierarchy including interfaces), so the classes
+ * assignable to a type are found without checking every indexed class. Used with event inheritance for sticky events
+ * and dispatch plans. Not thread-safe.
+ */
+final class TypeIndex {
+    private static final Class<?>[] NO_CLASSES = new Class<?>[0];
+
+    private final Map<Class<?>, Set<Class<?>>> classesByType = new HashMap<>();
+
+    /** @param types all types the class is assignable to, including the class itself */
+    void add(Class<?> clazz, Class<?>[] types) {
+        for (Class<?> type : types) {
+            Set<Class<?>> classes = classesByType.get(type);
+            if (classes == null) {
+                classes = new LinkedHashSet<>();
+                classesByType.put(type, classes);
+            }
+            classes.add(clazz);
+        }
+    }
+
+    /** @param types the types given when the class was added */
+    void remove(Class<?> clazz, Class<?>[] types) {
+        for (Class<?> type : types) {
+            Set<Class<?>> classes = classesByType.get(type);
+            if (classes != null && classes.remove(clazz) && classes.isEmpty()) {
+                classesByType.remove(type);
+            }
+        }
+    }
+
+    /** @return a copy of the indexed classes assignable to the given type, in the order they were added */
+    Class<?>[] get(Class<?> type) {
+        Set<Class<?>> classes = classesByType.get(type);
+        if (classes == null) {
+            return NO_CLASSES;
+        }
+        return classes.toArray(new Class<?>[classes.size()]);
+    }
+
+    void clear() {
+        classesByType.clear();
+    }
+}
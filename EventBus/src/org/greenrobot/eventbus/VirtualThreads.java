@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** Accesses virtual threads (Java 21+) reflectively, so EventBus still runs on older JVMs and Android. */
+final class VirtualThreads {
+    private static final Method IS_VIRTUAL_METHOD;
+    private static final Method NEW_EXECUTOR_METHOD;
+
+    static {
+        Method isVirtualMethod;
+        Method newExecutorMethod;
+        try {
+            isVirtualMethod = Thread.class.getMethod("isVirtual");
+            newExecutorMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException | RuntimeException e) {
+            isVirtualMethod = null;
+            newExecutorMethod = null;
+        }
+        IS_VIRTUAL_METHOD = isVirtualMethod;
+        NEW_EXECUTOR_METHOD = newExecutorMethod;
+    }
+
+    /** Created on first use. */
+    private static class ExecutorHolder {
+        static final ExecutorService EXECUTOR_SERVICE = createExecutorService();
+    }
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return NEW_EXECUTOR_METHOD != null;
+    }
+
+    static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL_METHOD == null) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_VIRTUAL_METHOD.invoke(thread);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /** @return an executor service starting a virtual thread per task, shared by all buses, or null if unsupported */
+    static ExecutorService getExecutorService() {
+        return isSupported() ? ExecutorHolder.EXECUTOR_SERVICE : null;
+    }
+
+    private static ExecutorService createExecutorService() {
+        try {
+            return (ExecutorService) NEW_EXECUTOR_METHOD.invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How threads of a ring buffer poster (see {@link EventBusBuilder#ringBufferPoster(ThreadMode, int, WaitStrategy)})
+ * wait: posting threads while it is full, and the BACKGROUND consumer while it is empty. The consumer only waits
+ * {@link EventBusBuilder#backgroundSpinsBeforePark(int)} times this way; then it parks until the next event is posted
+ * or the keep alive time ends.
+ */
+public enum WaitStrategy {
+    /** Busy spins. Lowest latency, but keeps a CPU core busy while waiting. */
+    SPIN {
+        @Override
+        void idle(int attempt) {
+        }
+    },
+
+    /** Spins briefly, then yields the CPU to other threads. */
+    YIELD {
+        @Override
+        void idle(int attempt) {
+            if (attempt >= SPIN_ATTEMPTS) {
+                Thread.yield();
+            }
+        }
+    },
+
+    /** Spins and yields briefly, then parks for short periods. Least CPU usage, but adds wake up latency. */
+    PARK {
+        @Override
+        void idle(int attempt) {
+            if (attempt >= SPIN_ATTEMPTS + YIELD_ATTEMPTS) {
+                LockSupport.parkNanos(PARK_NANOS);
+            } else if (attempt >= SPIN_ATTEMPTS) {
+                Thread.yield();
+            }
+        }
+    };
+
+    private static final int SPIN_ATTEMPTS = 100;
+    private static final int YIELD_ATTEMPTS = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /** Waits a little; attempt counts the consecutive unsuccessful attempts, starting at 0. */
+    abstract void idle(int attempt);
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus.meta;
+
+/**
+ * Base class for dispatchers generated by EventBus' annotation processor. Generated dispatchers only override the
+ * methods for the kinds of subscriber methods their subscriber class has.
+ */
+public abstract class AbstractSubscriberDispatcher implements SubscriberDispatcher {
+
+    @Override
+    public void dispatch(int methodIndex, Object subscriber, Object event) throws Throwable {
+        throw new IllegalArgumentException("Unknown method index: " + methodIndex);
+    }
+
+    /**
+     * Calls the signal subscriber method with the given index, see {@link org.greenrobot.eventbus.EventBus#post(int,
+     * long)}. Signal methods of subscribers with other dispatchers are called via reflection.
+     *
+     * @param methodIndex Index of the method in the {@link SubscriberMethodInfo} array of the subscriber info.
+     * @param subscriber  Subscriber to call the method on.
+     * @param key         Key of the signal.
+     * @param value       Value of the signal.
+     */
+    public void dispatchSignal(int methodIndex, Object subscriber, int key, long value) throws Throwable {
+        throw new IllegalArgumentException("Unknown signal method index: " + methodIndex);
+    }
+}
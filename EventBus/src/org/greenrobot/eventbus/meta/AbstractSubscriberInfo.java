@@ -20,6 +20,7 @@ import org.greenrobot.eventbus.SubscriberMethod;
 import org.greenrobot.eventbus.ThreadMode;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 /** Base class for generated subscriber meta info classes created by annotation processing. */
 public abstract class AbstractSubscriberInfo implements SubscriberInfo {
@@ -69,7 +70,9 @@ public abstract class AbstractSubscriberInfo implements SubscriberInfo {
     protected SubscriberMethod createSubscriberMethod(String methodName, Class<?> eventType, ThreadMode threadMode,
                                                       int priority, boolean sticky) {
         try {
-            Method method = subscriberClass.getDeclaredMethod(methodName, eventType);
+            Method method = eventType == SubscriberMethod.SIGNAL_TYPE ?
+                    subscriberClass.getDeclaredMethod(methodName, int.class, long.class) :
+                    subscriberClass.getDeclaredMethod(methodName, eventType);
             return new SubscriberMethod(method, eventType, threadMode, priority, sticky);
         } catch (NoSuchMethodException e) {
             throw new EventBusException("Could not find subscriber method in " + subscriberClass +
@@ -77,4 +80,24 @@ public abstract class AbstractSubscriberInfo implements SubscriberInfo {
         }
     }
 
+    /** Creates a batch-consuming subscriber method, which takes a list of the event type. */
+    protected SubscriberMethod createBatchSubscriberMethod(String methodName, Class<?> eventType,
+                                                           ThreadMode threadMode, int priority, boolean sticky) {
+        try {
+            Method method = subscriberClass.getDeclaredMethod(methodName, List.class);
+            return new SubscriberMethod(method, eventType, threadMode, priority, sticky);
+        } catch (NoSuchMethodException e) {
+            throw new EventBusException("Could not find subscriber method in " + subscriberClass +
+                    ". Maybe a missing ProGuard rule?", e);
+        }
+    }
+
+    /** Creates a subscriber method called by the given dispatcher, which does not require reflection. */
+    protected SubscriberMethod createSubscriberMethod(String methodName, Class<?> eventType, ThreadMode threadMode,
+                                                      int priority, boolean sticky, SubscriberDispatcher dispatcher,
+                                                      int methodIndex) {
+        return new SubscriberMethod(subscriberClass, methodName, eventType, threadMode, priority, sticky, dispatcher,
+                methodIndex);
+    }
+
 }
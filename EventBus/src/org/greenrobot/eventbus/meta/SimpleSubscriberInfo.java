@@ -23,10 +23,18 @@ import org.greenrobot.eventbus.SubscriberMethod;
 public class SimpleSubscriberInfo extends AbstractSubscriberInfo {
 
     private final SubscriberMethodInfo[] methodInfos;
+    private final SubscriberDispatcher dispatcher;
 
     public SimpleSubscriberInfo(Class subscriberClass, boolean shouldCheckSuperclass, SubscriberMethodInfo[] methodInfos) {
+        this(subscriberClass, shouldCheckSuperclass, methodInfos, null);
+    }
+
+    /** @param dispatcher Calls the methods by their index in methodInfos, avoiding reflection; may be null. */
+    public SimpleSubscriberInfo(Class subscriberClass, boolean shouldCheckSuperclass, SubscriberMethodInfo[] methodInfos,
+                                SubscriberDispatcher dispatcher) {
         super(subscriberClass, null, shouldCheckSuperclass);
         this.methodInfos = methodInfos;
+        this.dispatcher = dispatcher;
     }
 
     @Override
@@ -35,8 +43,24 @@ public class SimpleSubscriberInfo extends AbstractSubscriberInfo {
         SubscriberMethod[] methods = new SubscriberMethod[length];
         for (int i = 0; i < length; i++) {
             SubscriberMethodInfo info = methodInfos[i];
-            methods[i] = createSubscriberMethod(info.methodName, info.eventType, info.threadMode,
-                    info.priority, info.sticky);
+            if (dispatcher != null) {
+                methods[i] = createSubscriberMethod(info.methodName, info.eventType, info.threadMode,
+                        info.priority, info.sticky, dispatcher, i);
+            } else if (info.maxBatchSize > 0) {
+                methods[i] = createBatchSubscriberMethod(info.methodName, info.eventType, info.threadMode,
+                        info.priority, info.sticky);
+            } else {
+                methods[i] = createSubscriberMethod(info.methodName, info.eventType, info.threadMode,
+                        info.priority, info.sticky);
+            }
+            methods[i].maxConcurrency(info.maxConcurrency).queueCapacity(info.queueCapacity, info.overflowPolicy);
+            if (info.conflate) {
+                methods[i].conflate(info.conflationKey);
+            }
+            if (info.maxBatchSize > 0) {
+                methods[i].batch(info.maxBatchSize, info.maxLingerMillis);
+            }
+            methods[i].debounce(info.debounceMillis).throttle(info.throttleMillis).replay(info.replay);
         }
         return methods;
     }
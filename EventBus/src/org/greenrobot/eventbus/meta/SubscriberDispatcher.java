@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus.meta;
+
+/**
+ * Calls subscriber methods without reflection; generated by EventBus' annotation processor for each indexed
+ * subscriber class.
+ */
+public interface SubscriberDispatcher {
+    /**
+     * Calls the subscriber method with the given index.
+     *
+     * @param methodIndex Index of the method in the {@link SubscriberMethodInfo} array of the subscriber info.
+     * @param subscriber  Subscriber to call the method on.
+     * @param event       Event to pass to the method.
+     */
+    void dispatch(int methodIndex, Object subscriber, Object event) throws Throwable;
+}
@@ -15,6 +15,8 @@
  */
 package org.greenrobot.eventbus.meta;
 
+import org.greenrobot.eventbus.KeyExtractor;
+import org.greenrobot.eventbus.OverflowPolicy;
 import org.greenrobot.eventbus.ThreadMode;
 
 public class SubscriberMethodInfo {
@@ -23,6 +25,16 @@ public class SubscriberMethodInfo {
     final Class<?> eventType;
     final int priority;
     final boolean sticky;
+    int maxConcurrency;
+    int queueCapacity;
+    OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    boolean conflate;
+    KeyExtractor<?> conflationKey;
+    int maxBatchSize;
+    long maxLingerMillis;
+    long debounceMillis;
+    long throttleMillis;
+    int replay;
 
     public SubscriberMethodInfo(String methodName, Class<?> eventType, ThreadMode threadMode,
                                 int priority, boolean sticky) {
@@ -41,4 +53,52 @@ public class SubscriberMethodInfo {
         this(methodName, eventType, threadMode, 0, false);
     }
 
+    /** Sets {@link org.greenrobot.eventbus.Subscribe#maxConcurrency()}. */
+    public SubscriberMethodInfo maxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /** Sets {@link org.greenrobot.eventbus.Subscribe#queueCapacity()} and its overflow policy. */
+    public SubscriberMethodInfo queueCapacity(int queueCapacity, OverflowPolicy overflowPolicy) {
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /** Sets {@link org.greenrobot.eventbus.Subscribe#conflate()} with the key extractor, which may be null. */
+    public SubscriberMethodInfo conflate(KeyExtractor<?> conflationKey) {
+        this.conflate = true;
+        this.conflationKey = conflationKey;
+        return this;
+    }
+
+    /**
+     * Sets {@link org.greenrobot.eventbus.Subscribe#maxBatchSize()} and
+     * {@link org.greenrobot.eventbus.Subscribe#maxLingerMillis()}; the method takes a list of the event type.
+     */
+    public SubscriberMethodInfo batch(int maxBatchSize, long maxLingerMillis) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerMillis = maxLingerMillis;
+        return this;
+    }
+
+    /** Sets {@link org.greenrobot.eventbus.Subscribe#debounceMillis()}. */
+    public SubscriberMethodInfo debounce(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+        return this;
+    }
+
+    /** Sets {@link org.greenrobot.eventbus.Subscribe#throttleMillis()}. */
+    public SubscriberMethodInfo throttle(long throttleMillis) {
+        this.throttleMillis = throttleMillis;
+        return this;
+    }
+
+    /** Sets {@link org.greenrobot.eventbus.Subscribe#replay()}. */
+    public SubscriberMethodInfo replay(int replay) {
+        this.replay = replay;
+        return this;
+    }
+
 }
\ No newline at end of file
@@ -17,6 +17,8 @@ package org.greenrobot.eventbus.annotationprocessor;
 
 import net.ltgt.gradle.incap.IncrementalAnnotationProcessor;
 
+import org.greenrobot.eventbus.KeyExtractor;
+import org.greenrobot.eventbus.OverflowPolicy;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 
@@ -34,15 +36,18 @@ import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedOptions;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 
@@ -155,13 +160,186 @@ public class EventBusAnnotationProcessor extends AbstractProcessor {
         }
 
         List<? extends VariableElement> parameters = ((ExecutableElement) element).getParameters();
-        if (parameters.size() != 1) {
-            messager.printMessage(Diagnostic.Kind.ERROR, "Subscriber method must have exactly 1 parameter", element);
+        if (isSignalMethod(element)) {
+            if (element.getAnnotation(Subscribe.class).sticky()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Signal subscriber method must not be sticky", element);
+                return false;
+            }
+        } else if (parameters.size() != 1) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Subscriber method must have exactly 1 parameter " +
+                    "(or int and long for signals)", element);
+            return false;
+        }
+
+        Subscribe subscribe = element.getAnnotation(Subscribe.class);
+        if (subscribe.maxConcurrency() < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "maxConcurrency must not be negative", element);
+            return false;
+        } else if (subscribe.maxConcurrency() > 0 && subscribe.threadMode() != ThreadMode.ASYNC) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "maxConcurrency requires ThreadMode.ASYNC", element);
+            return false;
+        }
+        if (subscribe.queueCapacity() < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "queueCapacity must not be negative", element);
+            return false;
+        } else if (subscribe.queueCapacity() > 0 && subscribe.threadMode() == ThreadMode.POSTING) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "queueCapacity is not available for ThreadMode.POSTING",
+                    element);
+            return false;
+        } else if (subscribe.overflowPolicy() == OverflowPolicy.DROP_OLDEST) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "OverflowPolicy.DROP_OLDEST is only available for thread " +
+                    "modes", element);
+            return false;
+        }
+        TypeElement conflationKey = getConflationKey(subscribe);
+        if (subscribe.conflate()) {
+            if (isSignalMethod(element)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Signal subscriber method must not conflate", element);
+                return false;
+            } else if (subscribe.threadMode() == ThreadMode.POSTING) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "conflate is not available for ThreadMode.POSTING",
+                        element);
+                return false;
+            } else if (conflationKey != null && !hasNoArgConstructor(conflationKey)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "conflationKey must be a concrete class with a no-arg " +
+                        "constructor", element);
+                return false;
+            }
+        } else if (conflationKey != null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "conflationKey requires conflate = true", element);
+            return false;
+        }
+        if (subscribe.maxBatchSize() < 0 || subscribe.maxLingerMillis() < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "maxBatchSize and maxLingerMillis must not be negative",
+                    element);
+            return false;
+        } else if (subscribe.maxBatchSize() == 0 && subscribe.maxLingerMillis() > 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "maxLingerMillis requires maxBatchSize", element);
+            return false;
+        } else if (subscribe.maxBatchSize() > 0) {
+            if (isSignalMethod(element)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Signal subscriber method must not consume batches",
+                        element);
+                return false;
+            } else if (subscribe.threadMode() == ThreadMode.POSTING) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "maxBatchSize is not available for ThreadMode.POSTING",
+                        element);
+                return false;
+            } else if (subscribe.conflate() || subscribe.queueCapacity() > 0) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "maxBatchSize can't be combined with conflate or " +
+                        "queueCapacity", element);
+                return false;
+            } else if (getEventTypeMirror(element, null) == null) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Subscriber method with maxBatchSize must take a " +
+                        "java.util.List of an event class", element);
+                return false;
+            }
+        }
+        long debounceMillis = subscribe.debounceMillis();
+        long throttleMillis = subscribe.throttleMillis();
+        if (debounceMillis < 0 || throttleMillis < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "debounceMillis and throttleMillis must not be negative",
+                    element);
+            return false;
+        } else if (debounceMillis > 0 || throttleMillis > 0) {
+            String error = null;
+            if (debounceMillis > 0 && throttleMillis > 0) {
+                error = "Subscriber method must not both debounce and throttle";
+            } else if (isSignalMethod(element)) {
+                error = "Signal subscriber method must not debounce or throttle";
+            } else if (subscribe.threadMode() == ThreadMode.POSTING) {
+                error = "debounceMillis and throttleMillis are not available for ThreadMode.POSTING";
+            } else if (subscribe.maxBatchSize() > 0) {
+                error = "maxBatchSize can't be combined with debounceMillis or throttleMillis";
+            }
+            if (error != null) {
+                messager.printMessage(Diagnostic.Kind.ERROR, error, element);
+                return false;
+            }
+        }
+        if (subscribe.replay() < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "replay must not be negative", element);
+            return false;
+        } else if (subscribe.replay() > 0 && !subscribe.sticky()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "replay is only available for sticky subscriber methods",
+                    element);
             return false;
         }
         return true;
     }
 
+    /** Batch-consuming subscriber methods take a list of events, see Subscribe.maxBatchSize. */
+    private boolean isBatchMethod(ExecutableElement method) {
+        return method.getAnnotation(Subscribe.class).maxBatchSize() > 0;
+    }
+
+    /**
+     * Gets the event type of a non-signal subscriber method, which is the list's element type for batch-consuming
+     * methods.
+     *
+     * @return the event type, or null if a batch-consuming method does not take a java.util.List of declared types
+     */
+    private TypeMirror getEventTypeMirror(ExecutableElement method, Messager messager) {
+        VariableElement param = method.getParameters().get(0);
+        TypeMirror typeMirror = getParamTypeMirror(param, messager);
+        if (!isBatchMethod(method)) {
+            return typeMirror;
+        }
+        if (!(typeMirror instanceof DeclaredType) || !((TypeElement) ((DeclaredType) typeMirror).asElement())
+                .getQualifiedName().contentEquals("java.util.List")) {
+            return null;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) typeMirror).getTypeArguments();
+        if (typeArguments.size() != 1) {
+            return null;
+        }
+        TypeMirror elementType = typeArguments.get(0);
+        if (elementType instanceof WildcardType) {
+            elementType = ((WildcardType) elementType).getExtendsBound();
+        } else if (elementType instanceof TypeVariable) {
+            elementType = ((TypeVariable) elementType).getUpperBound();
+        }
+        return elementType instanceof DeclaredType ? elementType : null;
+    }
+
+    /** @return the class of the annotation's conflationKey, or null for the default (conflate all events) */
+    private TypeElement getConflationKey(Subscribe subscribe) {
+        TypeElement typeElement;
+        try {
+            // Only works for already compiled classes
+            Class<?> keyExtractorClass = subscribe.conflationKey();
+            typeElement = processingEnv.getElementUtils().getTypeElement(keyExtractorClass.getCanonicalName());
+        } catch (MirroredTypeException e) {
+            typeElement = (TypeElement) processingEnv.getTypeUtils().asElement(e.getTypeMirror());
+        }
+        if (typeElement.getQualifiedName().contentEquals(KeyExtractor.SameKey.class.getCanonicalName())) {
+            return null;
+        }
+        return typeElement;
+    }
+
+    private boolean hasNoArgConstructor(TypeElement typeElement) {
+        Set<Modifier> modifiers = typeElement.getModifiers();
+        if (typeElement.getKind() != ElementKind.CLASS || modifiers.contains(Modifier.ABSTRACT) ||
+                (typeElement.getEnclosingElement() instanceof TypeElement && !modifiers.contains(Modifier.STATIC))) {
+            return false;
+        }
+        for (Element enclosed : typeElement.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.CONSTRUCTOR &&
+                    ((ExecutableElement) enclosed).getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Signal subscriber methods take the key and value of EventBus.post(int, long). */
+    private boolean isSignalMethod(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        return parameters.size() == 2 && parameters.get(0).asType().getKind() == TypeKind.INT &&
+                parameters.get(1).asType().getKind() == TypeKind.LONG;
+    }
+
     /**
      * Subscriber classes should be skipped if their class or any involved event class are not visible to the index.
      */
@@ -186,13 +364,21 @@ public class EventBusAnnotationProcessor extends AbstractProcessor {
                 List<ExecutableElement> methods = methodsByClass.get(subscriberClass);
                 if (methods != null) {
                     for (ExecutableElement method : methods) {
+                        if (isSignalMethod(method)) {
+                            continue;
+                        }
                         String skipReason = null;
                         VariableElement param = method.getParameters().get(0);
-                        TypeMirror typeMirror = getParamTypeMirror(param, messager);
+                        TypeMirror typeMirror = getEventTypeMirror(method, messager);
                         if (!(typeMirror instanceof DeclaredType) ||
                                 !(((DeclaredType) typeMirror).asElement() instanceof TypeElement)) {
                             skipReason = "event type cannot be processed";
                         }
+                        TypeElement conflationKey = getConflationKey(method.getAnnotation(Subscribe.class));
+                        if (skipReason == null && conflationKey != null && (!isVisible(myPackage, conflationKey) ||
+                                !isConstructorVisible(myPackage, conflationKey))) {
+                            skipReason = "conflationKey is not public";
+                        }
                         if (skipReason == null) {
                             TypeElement eventTypeElement = (TypeElement) ((DeclaredType) typeMirror).asElement();
                             if (!isVisible(myPackage, eventTypeElement)) {
@@ -283,16 +469,50 @@ public class EventBusAnnotationProcessor extends AbstractProcessor {
     private void writeCreateSubscriberMethods(BufferedWriter writer, List<ExecutableElement> methods,
                                               String callPrefix, String myPackage) throws IOException {
         for (ExecutableElement method : methods) {
-            List<? extends VariableElement> parameters = method.getParameters();
-            TypeMirror paramType = getParamTypeMirror(parameters.get(0), null);
-            TypeElement paramElement = (TypeElement) processingEnv.getTypeUtils().asElement(paramType);
             String methodName = method.getSimpleName().toString();
-            String eventClass = getClassString(paramElement, myPackage) + ".class";
+            String eventClass;
+            String paramName;
+            if (isSignalMethod(method)) {
+                // Same as SubscriberMethod.SIGNAL_TYPE
+                eventClass = "long.class";
+                paramName = "int, long";
+            } else {
+                TypeMirror paramType = getEventTypeMirror(method, null);
+                TypeElement paramElement = (TypeElement) processingEnv.getTypeUtils().asElement(paramType);
+                eventClass = getClassString(paramElement, myPackage) + ".class";
+                paramName = paramElement.getSimpleName().toString();
+            }
 
             Subscribe subscribe = method.getAnnotation(Subscribe.class);
             List<String> parts = new ArrayList<>();
             parts.add(callPrefix + "(\"" + methodName + "\",");
-            String lineEnd = "),";
+            // Optional attributes are set by chained calls
+            String lineEnd = ")";
+            if (subscribe.maxConcurrency() != 0) {
+                lineEnd += ".maxConcurrency(" + subscribe.maxConcurrency() + ")";
+            }
+            if (subscribe.queueCapacity() != 0) {
+                lineEnd += ".queueCapacity(" + subscribe.queueCapacity() + ", OverflowPolicy." +
+                        subscribe.overflowPolicy().name() + ")";
+            }
+            if (subscribe.conflate()) {
+                TypeElement conflationKey = getConflationKey(subscribe);
+                lineEnd += ".conflate(" + (conflationKey != null ?
+                        "new " + getClassString(conflationKey, myPackage) + "()" : "null") + ")";
+            }
+            if (subscribe.maxBatchSize() != 0) {
+                lineEnd += ".batch(" + subscribe.maxBatchSize() + ", " + subscribe.maxLingerMillis() + "L)";
+            }
+            if (subscribe.debounceMillis() != 0) {
+                lineEnd += ".debounce(" + subscribe.debounceMillis() + "L)";
+            }
+            if (subscribe.throttleMillis() != 0) {
+                lineEnd += ".throttle(" + subscribe.throttleMillis() + "L)";
+            }
+            if (subscribe.replay() != 0) {
+                lineEnd += ".replay(" + subscribe.replay() + ")";
+            }
+            lineEnd += ",";
             if (subscribe.priority() == 0 && !subscribe.sticky()) {
                 if (subscribe.threadMode() == ThreadMode.POSTING) {
                     parts.add(eventClass + lineEnd);
@@ -311,12 +531,117 @@ public class EventBusAnnotationProcessor extends AbstractProcessor {
             if (verbose) {
                 processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Indexed @Subscribe at " +
                         method.getEnclosingElement().getSimpleName() + "." + methodName +
-                        "(" + paramElement.getSimpleName() + ")");
+                        "(" + paramName + ")");
             }
 
         }
     }
 
+    /**
+     * Writes an anonymous AbstractSubscriberDispatcher calling the given methods directly, using the method's index in
+     * the SubscriberMethodInfo array as method ID. Only the dispatch methods for the kinds of methods present are
+     * overridden.
+     */
+    private void writeDispatcher(BufferedWriter writer, TypeElement subscriberTypeElement, String subscriberClass,
+                                 List<ExecutableElement> methods, String myPackage) throws IOException {
+        boolean hasEventMethods = false;
+        boolean hasSignalMethods = false;
+        // Generic types can't be cast to without unchecked conversions, so raw types are used
+        boolean rawTypes = !subscriberTypeElement.getTypeParameters().isEmpty();
+        boolean uncheckedConversions = rawTypes;
+        for (ExecutableElement method : methods) {
+            if (isSignalMethod(method)) {
+                hasSignalMethods = true;
+            } else {
+                hasEventMethods = true;
+                TypeMirror paramType = method.getParameters().get(0).asType();
+                if (paramType.getKind() == TypeKind.TYPEVAR || (paramType.getKind() == TypeKind.DECLARED &&
+                        !((DeclaredType) paramType).getTypeArguments().isEmpty())) {
+                    uncheckedConversions = true;
+                }
+            }
+        }
+
+        writer.write("new AbstractSubscriberDispatcher() {\n");
+        if (hasEventMethods) {
+            writeLine(writer, 3, "@Override");
+            if (rawTypes) {
+                writeLine(writer, 3, "@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            } else if (uncheckedConversions) {
+                writeLine(writer, 3, "@SuppressWarnings(\"unchecked\")");
+            }
+            writeLine(writer, 3, "public void dispatch(int methodIndex, Object subscriber, Object event)",
+                    "throws Throwable {");
+            writeLine(writer, 4, subscriberClass, "typedSubscriber = (" + subscriberClass + ") subscriber;");
+            writeLine(writer, 4, "switch (methodIndex) {");
+            for (int i = 0; i < methods.size(); i++) {
+                ExecutableElement method = methods.get(i);
+                if (isSignalMethod(method)) {
+                    continue;
+                }
+                TypeMirror paramType = getEventTypeMirror(method, null);
+                TypeElement paramElement = (TypeElement) processingEnv.getTypeUtils().asElement(paramType);
+                String argument;
+                if (isBatchMethod(method)) {
+                    argument = "(List<" + getClassString(paramElement, myPackage) + ">) event";
+                } else if (paramElement.getQualifiedName().contentEquals("java.lang.Object")) {
+                    argument = "event";
+                } else {
+                    argument = "(" + getClassString(paramElement, myPackage) + ") event";
+                }
+                writeLine(writer, 5, "case " + i + ":");
+                writeLine(writer, 6, "typedSubscriber." + method.getSimpleName() + "(" + argument + ");");
+                writeLine(writer, 6, "break;");
+            }
+            writeLine(writer, 5, "default:");
+            writeLine(writer, 6, "super.dispatch(methodIndex, subscriber, event);");
+            writeLine(writer, 4, "}");
+            writeLine(writer, 3, "}");
+        }
+        if (hasSignalMethods) {
+            if (hasEventMethods) {
+                writer.write("\n");
+            }
+            writeLine(writer, 3, "@Override");
+            writeLine(writer, 3, "public void dispatchSignal(int methodIndex, Object subscriber, int key, long value)",
+                    "throws Throwable {");
+            writeLine(writer, 4, "switch (methodIndex) {");
+            for (int i = 0; i < methods.size(); i++) {
+                ExecutableElement method = methods.get(i);
+                if (isSignalMethod(method)) {
+                    writeLine(writer, 5, "case " + i + ":");
+                    writeLine(writer, 6, "((" + subscriberClass + ") subscriber)." + method.getSimpleName() +
+                            "(key, value);");
+                    writeLine(writer, 6, "break;");
+                }
+            }
+            writeLine(writer, 5, "default:");
+            writeLine(writer, 6, "super.dispatchSignal(methodIndex, subscriber, key, value);");
+            writeLine(writer, 4, "}");
+            writeLine(writer, 3, "}");
+        }
+        writer.write("        }");
+    }
+
+    /** @return the imports of the index needed only if indexed methods use certain attributes */
+    private Set<String> collectAttributeImports(String myPackage) {
+        Set<String> imports = new HashSet<>();
+        for (TypeElement subscriberTypeElement : methodsByClass.keySet()) {
+            if (classesToSkip.contains(subscriberTypeElement) || !isVisible(myPackage, subscriberTypeElement)) {
+                continue;
+            }
+            for (ExecutableElement method : methodsByClass.get(subscriberTypeElement)) {
+                if (method.getAnnotation(Subscribe.class).queueCapacity() != 0) {
+                    imports.add("org.greenrobot.eventbus.OverflowPolicy");
+                }
+                if (!isSignalMethod(method) && isBatchMethod(method)) {
+                    imports.add("java.util.List");
+                }
+            }
+        }
+        return imports;
+    }
+
     private void createInfoIndexFile(String index) {
         BufferedWriter writer = null;
         try {
@@ -328,12 +653,20 @@ public class EventBusAnnotationProcessor extends AbstractProcessor {
             if (myPackage != null) {
                 writer.write("package " + myPackage + ";\n\n");
             }
+            Set<String> attributeImports = collectAttributeImports(myPackage);
+            writer.write("import org.greenrobot.eventbus.meta.AbstractSubscriberDispatcher;\n");
             writer.write("import org.greenrobot.eventbus.meta.SimpleSubscriberInfo;\n");
             writer.write("import org.greenrobot.eventbus.meta.SubscriberMethodInfo;\n");
             writer.write("import org.greenrobot.eventbus.meta.SubscriberInfo;\n");
             writer.write("import org.greenrobot.eventbus.meta.SubscriberInfoIndex;\n\n");
+            if (attributeImports.contains("org.greenrobot.eventbus.OverflowPolicy")) {
+                writer.write("import org.greenrobot.eventbus.OverflowPolicy;\n");
+            }
             writer.write("import org.greenrobot.eventbus.ThreadMode;\n\n");
             writer.write("import java.util.HashMap;\n");
+            if (attributeImports.contains("java.util.List")) {
+                writer.write("import java.util.List;\n");
+            }
             writer.write("import java.util.Map;\n\n");
             writer.write("/** This class is generated by EventBus, do not edit. */\n");
             writer.write("public class " + clazz + " implements SubscriberInfoIndex {\n");
@@ -381,13 +714,32 @@ public class EventBusAnnotationProcessor extends AbstractProcessor {
                         "true,", "new SubscriberMethodInfo[] {");
                 List<ExecutableElement> methods = methodsByClass.get(subscriberTypeElement);
                 writeCreateSubscriberMethods(writer, methods, "new SubscriberMethodInfo", myPackage);
-                writer.write("        }));\n\n");
+                writer.write("        }, ");
+                writeDispatcher(writer, subscriberTypeElement, subscriberClass, methods, myPackage);
+                writer.write("));\n\n");
             } else {
                 writer.write("        // Subscriber not visible to index: " + subscriberClass + "\n");
             }
         }
     }
 
+    private boolean isConstructorVisible(String myPackage, TypeElement typeElement) {
+        for (Element enclosed : typeElement.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.CONSTRUCTOR &&
+                    ((ExecutableElement) enclosed).getParameters().isEmpty()) {
+                Set<Modifier> modifiers = enclosed.getModifiers();
+                if (modifiers.contains(Modifier.PUBLIC)) {
+                    return true;
+                } else if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.PROTECTED)) {
+                    return false;
+                }
+                String keyExtractorPackage = getPackageElement(typeElement).getQualifiedName().toString();
+                return myPackage == null ? keyExtractorPackage.isEmpty() : myPackage.equals(keyExtractorPackage);
+            }
+        }
+        return false;
+    }
+
     private boolean isVisible(String myPackage, TypeElement typeElement) {
         Set<Modifier> modifiers = typeElement.getModifiers();
         boolean visible;
@@ -18,6 +18,7 @@ package org.greenrobot.eventbusperf;
 
 import android.content.Context;
 
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class Test {
@@ -47,6 +48,16 @@ public abstract class Test {
     /** returns the display name of the test. e.g. EventBus */
     public abstract String getDisplayName();
 
+    /** @return delays between 10 and 60 seconds in ms, like timeouts that are typically canceled before they expire */
+    protected static long[] createTimeoutDelays(int count) {
+        Random random = new Random(42);
+        long[] delays = new long[count];
+        for (int i = 0; i < count; i++) {
+            delays[i] = 10000 + random.nextInt(50000);
+        }
+        return delays;
+    }
+
     protected void waitForReceivedEventCount(int expectedEventCount) {
         while (eventsReceivedCount.get() < expectedEventCount) {
             try {
@@ -30,6 +30,9 @@ public class TestParams implements Serializable {
     private ThreadMode threadMode;
     private boolean eventInheritance;
     private boolean ignoreGeneratedIndex;
+    private boolean invokeUsingReflection;
+    private boolean postUsingPublisher;
+    private boolean ringBufferPoster;
     private int testNumber;
     private ArrayList<Class<? extends Test>> testClasses;
 
@@ -81,6 +84,30 @@ public class TestParams implements Serializable {
         this.ignoreGeneratedIndex = ignoreGeneratedIndex;
     }
 
+    public boolean isInvokeUsingReflection() {
+        return invokeUsingReflection;
+    }
+
+    public void setInvokeUsingReflection(boolean invokeUsingReflection) {
+        this.invokeUsingReflection = invokeUsingReflection;
+    }
+
+    public boolean isPostUsingPublisher() {
+        return postUsingPublisher;
+    }
+
+    public void setPostUsingPublisher(boolean postUsingPublisher) {
+        this.postUsingPublisher = postUsingPublisher;
+    }
+
+    public boolean isRingBufferPoster() {
+        return ringBufferPoster;
+    }
+
+    public void setRingBufferPoster(boolean ringBufferPoster) {
+        this.ringBufferPoster = ringBufferPoster;
+    }
+
     public ArrayList<Class<? extends Test>> getTestClasses() {
         return testClasses;
     }
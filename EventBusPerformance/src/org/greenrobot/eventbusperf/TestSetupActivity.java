@@ -38,12 +38,14 @@ public class TestSetupActivity extends Activity {
     static final Class[] TEST_CLASSES_EVENTBUS = {PerfTestEventBus.Post.class,//
             PerfTestEventBus.RegisterOneByOne.class,//
             PerfTestEventBus.RegisterAll.class, //
-            PerfTestEventBus.RegisterFirstTime.class};
+            PerfTestEventBus.RegisterFirstTime.class, //
+            PerfTestEventBus.PostDelayedCanceled.class};
 
     static final Class[] TEST_CLASSES_OTTO = {PerfTestOtto.Post.class,//
             PerfTestOtto.RegisterOneByOne.class,//
             PerfTestOtto.RegisterAll.class, //
-            PerfTestOtto.RegisterFirstTime.class};
+            PerfTestOtto.RegisterFirstTime.class, //
+            PerfTestOtto.PostDelayedCanceled.class};
 
     @Override
     public void onCreate(Bundle savedInstanceState) {
@@ -56,6 +58,7 @@ public class TestSetupActivity extends Activity {
             public void onItemSelected(AdapterView<?> adapter, View v, int pos, long lng) {
                 int eventsVisibility = pos == 0 ? View.VISIBLE : View.GONE;
                 findViewById(R.id.relativeLayoutForEvents).setVisibility(eventsVisibility);
+                findViewById(R.id.relativeLayoutForPublishers).setVisibility(eventsVisibility);
                 findViewById(R.id.spinnerThread).setVisibility(eventsVisibility);
             }
 
@@ -80,10 +83,16 @@ public class TestSetupActivity extends Activity {
 
         params.setEventInheritance(((CheckBox) findViewById(R.id.checkBoxEventBusEventHierarchy)).isChecked());
         params.setIgnoreGeneratedIndex(((CheckBox) findViewById(R.id.checkBoxEventBusIgnoreGeneratedIndex)).isChecked());
+        params.setInvokeUsingReflection(((CheckBox) findViewById(R.id.checkBoxEventBusInvokeUsingReflection)).isChecked());
+        params.setPostUsingPublisher(((CheckBox) findViewById(R.id.checkBoxEventBusPostUsingPublisher)).isChecked());
+        params.setRingBufferPoster(((CheckBox) findViewById(R.id.checkBoxEventBusRingBufferPoster)).isChecked());
 
         EditText editTextEvent = findViewById(R.id.editTextEvent);
         params.setEventCount(Integer.parseInt(editTextEvent.getText().toString()));
 
+        EditText editTextPublisher = findViewById(R.id.editTextPublisher);
+        params.setPublisherCount(Integer.parseInt(editTextPublisher.getText().toString()));
+
         EditText editTextSubscriber = findViewById(R.id.editTextSubscribe);
         params.setSubscriberCount(Integer.parseInt(editTextSubscriber.getText().toString()));
 
@@ -19,12 +19,18 @@ package org.greenrobot.eventbusperf.testsubject;
 import android.content.Context;
 
 import org.greenrobot.eventbus.EventBus;
+import org.greenrobot.eventbus.EventBusBuilder;
+import org.greenrobot.eventbus.ScheduledPost;
+import org.greenrobot.eventbus.Publisher;
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
+import org.greenrobot.eventbus.WaitStrategy;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.greenrobot.eventbusperf.MyEventBusIndex;
 import org.greenrobot.eventbusperf.Test;
@@ -41,8 +47,14 @@ public abstract class PerfTestEventBus extends Test {
 
     public PerfTestEventBus(Context context, TestParams params) {
         super(context, params);
-        eventBus = EventBus.builder().eventInheritance(params.isEventInheritance()).addIndex(new MyEventBusIndex())
-                .ignoreGeneratedIndex(params.isIgnoreGeneratedIndex()).build();
+        EventBusBuilder builder = EventBus.builder().eventInheritance(params.isEventInheritance())
+                .addIndex(new MyEventBusIndex()).ignoreGeneratedIndex(params.isIgnoreGeneratedIndex())
+                .invokeUsingReflection(params.isInvokeUsingReflection());
+        ThreadMode threadMode = params.getThreadMode();
+        if (params.isRingBufferPoster() && (threadMode == ThreadMode.BACKGROUND || threadMode == ThreadMode.ASYNC)) {
+            builder.ringBufferPoster(threadMode, 1024, WaitStrategy.PARK);
+        }
+        eventBus = builder.build();
         subscribers = new ArrayList<Object>();
         eventCount = params.getEventCount();
         expectedEventCount = eventCount * params.getSubscriberCount();
@@ -82,7 +94,10 @@ public abstract class PerfTestEventBus extends Test {
     private static String getDisplayModifier(TestParams params) {
         String inheritance = params.isEventInheritance() ? "" : ", no event inheritance";
         String ignoreIndex = params.isIgnoreGeneratedIndex() ? ", ignore index" : "";
-        return inheritance + ignoreIndex;
+        String reflection = params.isInvokeUsingReflection() ? ", invoke using reflection" : "";
+        String publisher = params.isPostUsingPublisher() ? ", post using publisher" : "";
+        String ringBuffer = params.isRingBufferPoster() ? ", ring buffer poster" : "";
+        return inheritance + ignoreIndex + reflection + publisher + ringBuffer;
     }
 
 
@@ -99,12 +114,12 @@ public abstract class PerfTestEventBus extends Test {
 
         public void runTest() {
             TestEvent event = new TestEvent();
+            int publisherCount = Math.max(1, params.getPublisherCount());
             long timeStart = System.nanoTime();
-            for (int i = 0; i < super.eventCount; i++) {
-                super.eventBus.post(event);
-                if (canceled) {
-                    break;
-                }
+            if (publisherCount == 1) {
+                postEvents(event, super.eventCount);
+            } else {
+                postEventsConcurrently(event, publisherCount);
             }
             long timeAfterPosting = System.nanoTime();
             waitForReceivedEventCount(super.expectedEventCount);
@@ -118,11 +133,92 @@ public abstract class PerfTestEventBus extends Test {
                     "Post and delivery rate: " + deliveryRate + "/s";
         }
 
+        private void postEvents(TestEvent event, int count) {
+            if (params.isPostUsingPublisher()) {
+                Publisher<TestEvent> publisher = super.eventBus.publisherFor(TestEvent.class);
+                for (int i = 0; i < count; i++) {
+                    publisher.post(event);
+                    if (canceled) {
+                        break;
+                    }
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    super.eventBus.post(event);
+                    if (canceled) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        /** All publishers start at the same time and post their share of the events. */
+        private void postEventsConcurrently(final TestEvent event, int publisherCount) {
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            List<Thread> publishers = new ArrayList<Thread>(publisherCount);
+            for (int i = 0; i < publisherCount; i++) {
+                final int count = super.eventCount / publisherCount + (i < super.eventCount % publisherCount ? 1 : 0);
+                Thread publisher = new Thread("Publisher " + i) {
+                    @Override
+                    public void run() {
+                        try {
+                            startLatch.await();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                        postEvents(event, count);
+                    }
+                };
+                publisher.start();
+                publishers.add(publisher);
+            }
+            startLatch.countDown();
+            for (Thread publisher : publishers) {
+                try {
+                    publisher.join();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
         @Override
         public String getDisplayName() {
-            return "EventBus Post Events, " + params.getThreadMode() + getDisplayModifier(params);
+            String publishers = params.getPublisherCount() > 1 ? ", " + params.getPublisherCount() + " publishers" : "";
+            return "EventBus Post Events, " + params.getThreadMode() + publishers + getDisplayModifier(params);
+        }
+
+    }
+
+    public static class PostDelayedCanceled extends PerfTestEventBus {
+        public PostDelayedCanceled(Context context, TestParams params) {
+            super(context, params);
+        }
+
+        public void runTest() {
+            TestEvent event = new TestEvent();
+            long[] delays = createTimeoutDelays(super.eventCount);
+            List<ScheduledPost> scheduledPosts = new ArrayList<ScheduledPost>(delays.length);
+            long timeStart = System.nanoTime();
+            for (long delay : delays) {
+                scheduledPosts.add(super.eventBus.postDelayed(event, delay));
+                if (canceled) {
+                    break;
+                }
+            }
+            for (ScheduledPost scheduledPost : scheduledPosts) {
+                scheduledPost.cancel();
+            }
+            long timeEnd = System.nanoTime();
+
+            primaryResultMicros = (timeEnd - timeStart) / 1000;
+            primaryResultCount = scheduledPosts.size();
         }
 
+        @Override
+        public String getDisplayName() {
+            return "EventBus Schedule and Cancel Delayed Posts" + getDisplayModifier(params);
+        }
     }
 
     public static class RegisterAll extends PerfTestEventBus {
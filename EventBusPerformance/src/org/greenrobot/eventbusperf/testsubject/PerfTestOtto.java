@@ -27,7 +27,11 @@ import com.squareup.otto.ThreadEnforcer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.greenrobot.eventbusperf.Test;
 import org.greenrobot.eventbusperf.TestEvent;
@@ -98,6 +102,51 @@ public abstract class PerfTestOtto extends Test {
         }
     }
 
+    /** Otto has no delayed posts: schedules them with a ScheduledThreadPoolExecutor instead. */
+    public static class PostDelayedCanceled extends PerfTestOtto {
+        public PostDelayedCanceled(Context context, TestParams params) {
+            super(context, params);
+        }
+
+        public void runTest() {
+            final TestEvent event = new TestEvent();
+            final Bus bus = super.eventBus;
+            Runnable post = new Runnable() {
+                @Override
+                public void run() {
+                    bus.post(event);
+                }
+            };
+            long[] delays = createTimeoutDelays(super.eventCount);
+            List<ScheduledFuture<?>> futures = new ArrayList<ScheduledFuture<?>>(delays.length);
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+            executor.setRemoveOnCancelPolicy(true);
+            try {
+                long timeStart = System.nanoTime();
+                for (long delay : delays) {
+                    futures.add(executor.schedule(post, delay, TimeUnit.MILLISECONDS));
+                    if (canceled) {
+                        break;
+                    }
+                }
+                for (ScheduledFuture<?> future : futures) {
+                    future.cancel(false);
+                }
+                long timeEnd = System.nanoTime();
+
+                primaryResultMicros = (timeEnd - timeStart) / 1000;
+                primaryResultCount = futures.size();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Otto Schedule and Cancel Delayed Posts (ScheduledThreadPoolExecutor)";
+        }
+    }
+
     public static class RegisterAll extends PerfTestOtto {
         public RegisterAll(Context context, TestParams params) {
             super(context, params);
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusAsyncConcurrencyTest extends AbstractEventBusTest {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile CountDownLatch release;
+
+    @Test
+    public void testMaxConcurrency() {
+        eventBus.register(new LimitedSubscriber());
+        postAndAwait(100);
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    @Test
+    public void testMaxConcurrencyWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testMaxConcurrency();
+    }
+
+    @Test
+    public void testMaxConcurrencyOneKeepsOrder() {
+        SerialSubscriber subscriber = new SerialSubscriber();
+        eventBus.register(subscriber);
+        for (int i = 0; i < 1000; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(1000, 5000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) subscriber.received.get(i));
+        }
+    }
+
+    @Test
+    public void testMaxConcurrencyPostAll() {
+        eventBus.register(new LimitedSubscriber());
+        List<Object> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(i);
+        }
+        eventBus.postAll(events);
+        waitForEventCount(100, 5000);
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    @Test
+    public void testUnlimitedDeliversConcurrently() {
+        final int count = 10;
+        final CountDownLatch latch = new CountDownLatch(count);
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.ASYNC)
+            public void onEvent(Integer event) {
+                // Would time out if any event had to wait for another
+                countDownAndAwaitLatch(latch, 5);
+                trackEvent(event);
+            }
+        });
+        for (int i = 0; i < count; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(count, 5000);
+    }
+
+    @Test
+    public void testUnlimitedManyEvents() {
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.ASYNC)
+            public void onEvent(Integer event) {
+                trackEvent(event);
+            }
+        });
+        for (int i = 0; i < 10000; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(10000, 5000);
+    }
+
+    /** Workers drain the queue: a burst submits no more executor tasks than the subscriber's maxConcurrency. */
+    @Test
+    public void testBurstSubmitsAtMostMaxConcurrencyTasks() throws InterruptedException {
+        burst(new Object() {
+            @Subscribe(threadMode = ThreadMode.ASYNC, maxConcurrency = 16)
+            public void onEvent(Integer event) throws InterruptedException {
+                handleEventOnceReleased(event);
+            }
+        }, 16);
+        burst(new Object() {
+            @Subscribe(threadMode = ThreadMode.ASYNC, maxConcurrency = 4)
+            public void onEvent(Integer event) throws InterruptedException {
+                handleEventOnceReleased(event);
+            }
+        }, 4);
+    }
+
+    private void burst(Object subscriber, int maxConcurrency) throws InterruptedException {
+        int count = LONG_TESTS ? 10000 : 1000;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>());
+        eventBus = EventBus.builder().executorService(executor).build();
+        eventBus.register(subscriber);
+        eventCount.set(0);
+        inFlight.set(0);
+        maxInFlight.set(0);
+        release = new CountDownLatch(1);
+        for (int i = 0; i < count; i++) {
+            eventBus.post(i);
+        }
+        // Every worker is blocked in the subscriber now, the other events must stay queued
+        long deadline = System.currentTimeMillis() + 5000;
+        while (inFlight.get() < maxConcurrency) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+        assertEquals(maxConcurrency, executor.getActiveCount());
+
+        release.countDown();
+        waitForEventCount(count, 10000);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(maxConcurrency, executor.getCompletedTaskCount());
+        assertEquals(maxConcurrency, maxInFlight.get());
+    }
+
+    private void postAndAwait(int count) {
+        for (int i = 0; i < count; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(count, 5000);
+    }
+
+    private void handleEvent(Integer event) throws InterruptedException {
+        enterInFlight();
+        // Some work, which also gives concurrent invocations a chance to overlap
+        Thread.sleep(0, 100000);
+        inFlight.decrementAndGet();
+        trackEvent(event);
+    }
+
+    private void handleEventOnceReleased(Integer event) throws InterruptedException {
+        enterInFlight();
+        assertTrue(release.await(5, TimeUnit.SECONDS));
+        inFlight.decrementAndGet();
+        trackEvent(event);
+    }
+
+    private void enterInFlight() {
+        int current = inFlight.incrementAndGet();
+        while (true) {
+            int max = maxInFlight.get();
+            if (current <= max || maxInFlight.compareAndSet(max, current)) {
+                break;
+            }
+        }
+    }
+
+    public class LimitedSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC, maxConcurrency = 3)
+        public void onEvent(Integer event) throws InterruptedException {
+            handleEvent(event);
+        }
+    }
+
+    public class SerialSubscriber {
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+
+        @Subscribe(threadMode = ThreadMode.ASYNC, maxConcurrency = 1)
+        public void onEvent(Integer event) {
+            received.add(event);
+            trackEvent(event);
+        }
+    }
+
+}
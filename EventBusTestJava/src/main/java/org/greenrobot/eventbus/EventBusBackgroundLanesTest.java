@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusBackgroundLanesTest extends AbstractEventBusTest {
+
+    private final Set<Thread> threads = new CopyOnWriteArraySet<>();
+
+    @Test
+    public void testOrderPerSubscriber() {
+        eventBus = EventBus.builder().backgroundLanes(4).build();
+        List<OrderedSubscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            OrderedSubscriber subscriber = new OrderedSubscriber();
+            eventBus.register(subscriber);
+            subscribers.add(subscriber);
+        }
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(count * subscribers.size(), 5000);
+        for (OrderedSubscriber subscriber : subscribers) {
+            assertEquals(count, subscriber.received.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, (int) subscriber.received.get(i));
+            }
+        }
+        assertTrue(threads.size() > 1);
+        assertTrue(threads.size() <= 4);
+    }
+
+    @Test
+    public void testSlowSubscriberDoesNotBlockOtherLanes() {
+        eventBus = EventBus.builder().backgroundLanes(4).build();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.BACKGROUND)
+            public void onEvent(Integer event) throws InterruptedException {
+                blocked.await(5, TimeUnit.SECONDS);
+            }
+        });
+        // Some of these are assigned to other lanes than the blocked subscriber
+        for (int i = 0; i < 16; i++) {
+            eventBus.register(new OrderedSubscriber());
+        }
+        eventBus.post(1);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (eventCount.get() == 0) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.yield();
+        }
+        blocked.countDown();
+        waitForEventCount(16, 5000);
+    }
+
+    @Test
+    public void testSingleLaneByDefault() {
+        for (int i = 0; i < 16; i++) {
+            eventBus.register(new OrderedSubscriber());
+        }
+        for (int i = 0; i < 100; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(1600, 5000);
+        assertEquals(1, threads.size());
+    }
+
+    /** Subscribers on different lanes run at the same time: each one waits for the other. */
+    @Test
+    public void testLanesRunInParallel() {
+        eventBus = EventBus.builder().backgroundLanes(2).build();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        BarrierSubscriber first = new BarrierSubscriber(barrier);
+        BarrierSubscriber second = new BarrierSubscriber(barrier);
+        while (eventBus.getBackgroundLane(second) == eventBus.getBackgroundLane(first)) {
+            second = new BarrierSubscriber(barrier);
+        }
+        eventBus.register(first);
+        eventBus.register(second);
+        eventBus.post(1);
+        // A subscriber whose barrier timed out or broke does not count its event
+        waitForEventCount(2, 10000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalLaneCount() {
+        EventBus.builder().backgroundLanes(0);
+    }
+
+    public class BarrierSubscriber {
+        private final CyclicBarrier barrier;
+
+        BarrierSubscriber(CyclicBarrier barrier) {
+            this.barrier = barrier;
+        }
+
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onEvent(Integer event) throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+            trackEvent(event);
+        }
+    }
+
+    public class OrderedSubscriber {
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onEvent(Integer event) {
+            received.add(event);
+            threads.add(Thread.currentThread());
+            trackEvent(event);
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusBackgroundPosterTest extends AbstractEventBusTest {
+
+    private final Set<Thread> threads = new CopyOnWriteArraySet<>();
+
+    public EventBusBackgroundPosterTest() {
+        super(true);
+    }
+
+    @Test
+    public void testQueueFifo() {
+        MpscPendingPostQueue queue = new MpscPendingPostQueue();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        for (int i = 0; i < 10; i++) {
+            PendingPost pendingPost = PendingPost.obtainPendingPost(null, i);
+            queue.enqueueAll(pendingPost, pendingPost);
+        }
+        for (int i = 0; i < 10; i++) {
+            PendingPost pendingPost = queue.poll();
+            assertEquals(i, pendingPost.event);
+            PendingPost.releasePendingPost(pendingPost);
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testQueueMultipleProducers() throws InterruptedException {
+        final MpscPendingPostQueue queue = new MpscPendingPostQueue();
+        final int producerCount = 4;
+        final int countPerProducer = 100000;
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            final int producer = i;
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < countPerProducer; j++) {
+                        PendingPost pendingPost = PendingPost.obtainPendingPost(null, new int[]{producer, j});
+                        queue.enqueueAll(pendingPost, pendingPost);
+                    }
+                }
+            };
+            thread.start();
+            producers.add(thread);
+        }
+        int[] expectedPerProducer = new int[producerCount];
+        int received = 0;
+        long deadline = System.currentTimeMillis() + 10000;
+        while (received < producerCount * countPerProducer) {
+            PendingPost pendingPost = queue.poll();
+            if (pendingPost == null) {
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.yield();
+                continue;
+            }
+            int[] event = (int[]) pendingPost.event;
+            assertEquals(expectedPerProducer[event[0]]++, event[1]);
+            PendingPost.releasePendingPost(pendingPost);
+            received++;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testParkedThreadIsReused() throws InterruptedException {
+        eventBus = EventBus.builder().backgroundKeepAlive(10000).backgroundSpinsBeforePark(0).build();
+        eventBus.register(this);
+        for (int i = 0; i < 5; i++) {
+            eventBus.post("Burst " + i);
+            waitForEventCount(i + 1, 1000);
+            // Let the delivering thread park
+            Thread.sleep(20);
+        }
+        assertEquals(1, threads.size());
+    }
+
+    @Test
+    public void testNoKeepAlive() throws InterruptedException {
+        eventBus = EventBus.builder().backgroundKeepAlive(0).backgroundSpinsBeforePark(0).build();
+        eventBus.register(this);
+        for (int i = 0; i < 100; i++) {
+            eventBus.post("Burst " + i);
+            if (i % 10 == 0) {
+                Thread.sleep(1);
+            }
+        }
+        waitForEventCount(100, 5000);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Burst " + i, eventsReceived.get(i));
+        }
+    }
+
+    @Test
+    public void testMultiplePostingThreads() throws InterruptedException {
+        eventBus = EventBus.builder().backgroundSpinsBeforePark(0).build();
+        eventBus.register(this);
+        final int threadCount = 4;
+        final int countPerThread = 10000;
+        List<Thread> postingThreads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < countPerThread; j++) {
+                        eventBus.post("Event");
+                        if (j % 1000 == 0) {
+                            // Bursts: let the delivering thread park now and then
+                            Thread.yield();
+                        }
+                    }
+                }
+            };
+            thread.start();
+            postingThreads.add(thread);
+        }
+        for (Thread thread : postingThreads) {
+            thread.join();
+        }
+        waitForEventCount(threadCount * countPerThread, 10000);
+        // Parked in between bursts, but never given back to the executor
+        assertEquals(1, threads.size());
+    }
+
+    @Test
+    public void testIllegalConfig() {
+        try {
+            EventBus.builder().backgroundKeepAlive(-1);
+            throw new AssertionError("Negative keep alive accepted");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+        try {
+            EventBus.builder().backgroundSpinsBeforePark(-1);
+            throw new AssertionError("Negative spins accepted");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    @Subscribe(threadMode = ThreadMode.BACKGROUND)
+    public void onEvent(String event) {
+        threads.add(Thread.currentThread());
+        trackEvent(event);
+    }
+
+}
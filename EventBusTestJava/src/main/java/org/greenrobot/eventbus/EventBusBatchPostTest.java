@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class EventBusBatchPostTest extends AbstractEventBusTest {
+
+    public EventBusBatchPostTest() {
+        super(true);
+    }
+
+    @Test
+    public void testPostAll() {
+        eventBus.register(new PostingSubscriber());
+        eventBus.postAll("1", "2", "3");
+        assertEquals(Arrays.<Object>asList("1", "2", "3"), eventsReceived);
+    }
+
+    @Test
+    public void testPostAllCollection() {
+        eventBus.register(new PostingSubscriber());
+        List<Object> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            events.add(String.valueOf(i));
+        }
+        eventBus.postAll(events);
+        assertEquals(events, eventsReceived);
+    }
+
+    @Test
+    public void testPostAllBackgroundInOrder() {
+        eventBus.register(new BackgroundSubscriber());
+        List<Object> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            events.add(String.valueOf(i));
+        }
+        eventBus.postAll(events);
+        waitForEventCount(events.size(), 5000);
+        assertEquals(events, eventsReceived);
+        assertNotSame(Thread.currentThread(), lastThread);
+    }
+
+    @Test
+    public void testPostAllAsync() {
+        eventBus.register(new AsyncSubscriber());
+        eventBus.postAll("1", "2", "3");
+        waitForEventCount(3, 1000);
+    }
+
+    @Test
+    public void testPostAllDeliversToPostersAfterLastEvent() {
+        final List<Integer> backgroundCountsSeen = new CopyOnWriteArrayList<>();
+        eventBus.register(new BackgroundSubscriber());
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(String event) {
+                backgroundCountsSeen.add(eventCount.get());
+            }
+        });
+        eventBus.postAll("1", "2", "3");
+        waitForEventCount(3, 1000);
+        assertEquals(Arrays.asList(0, 0, 0), backgroundCountsSeen);
+    }
+
+    @Test
+    public void testPostFromSubscriberDuringPostAll() {
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(String event) {
+                trackEvent(event);
+                eventBus.post(event.length());
+            }
+
+            @Subscribe
+            public void onEvent(Integer event) {
+                trackEvent(event);
+            }
+        });
+        eventBus.postAll("a", "bb");
+        assertEquals(Arrays.<Object>asList("a", "bb", 1, 2), eventsReceived);
+    }
+
+    @Test
+    public void testPostAllAfterPostAllFailed() {
+        EventBus eventBus = EventBus.builder().throwSubscriberException(true).build();
+        eventBus.register(new BackgroundSubscriber());
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(String event) {
+                if (event.equals("fail")) {
+                    throw new RuntimeException("Expected");
+                }
+            }
+        });
+        try {
+            eventBus.postAll("1", "fail");
+        } catch (EventBusException expected) {
+            // Pending posts collected before the failure are still delivered
+        }
+        waitForEventCount(2, 1000);
+        eventBus.post("2");
+        waitForEventCount(3, 1000);
+        assertEquals(Arrays.<Object>asList("1", "fail", "2"), eventsReceived);
+    }
+
+    public class PostingSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class BackgroundSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class AsyncSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.greenrobot.eventbus.EventBusRecyclableEventTest.PooledEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusBatchTest extends AbstractEventBusTest {
+
+    private final List<List<?>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    @Test
+    public void testMaxBatchSize() {
+        eventBus.register(new SizeSubscriber());
+        for (int i = 0; i < 20; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(20, 5000);
+        assertEquals(2, batches.size());
+        assertEquals(10, batches.get(0).size());
+        assertEquals(10, batches.get(1).size());
+        assertEquals(0, batches.get(0).get(0));
+        assertEquals(19, batches.get(1).get(9));
+    }
+
+    @Test
+    public void testMaxBatchSizeWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testMaxBatchSize();
+    }
+
+    @Test
+    public void testLinger() {
+        eventBus.register(new LingerSubscriber());
+        for (int i = 0; i < 5; i++) {
+            eventBus.post("Event " + i);
+        }
+        waitForEventCount(5, 5000);
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList("Event 0", "Event 1", "Event 2", "Event 3", "Event 4"), batches.get(0));
+    }
+
+    @Test
+    public void testLingerWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testLinger();
+    }
+
+    @Test
+    public void testEventsJoinQueuedBatch() {
+        eventBus.register(new GatedSubscriber());
+        eventBus.post(0);
+        awaitLatch(started, 10);
+        for (int i = 1; i < 10; i++) {
+            eventBus.post(i);
+        }
+        gate.countDown();
+        waitForEventCount(10, 5000);
+        assertEquals(2, batches.size());
+        assertEquals(Arrays.asList(0), batches.get(0));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), batches.get(1));
+    }
+
+    @Test
+    public void testBatchAndSingleSubscribers() {
+        final List<Integer> single = new CopyOnWriteArrayList<>();
+        eventBus.register(new SizeSubscriber());
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(Integer event) {
+                single.add(event);
+            }
+        });
+        for (int i = 0; i < 10; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(10, 5000);
+        assertEquals(10, single.size());
+    }
+
+    @Test
+    public void testEventsReleasedAfterBatch() {
+        EventPool<PooledEvent> pool = new EventPool<>(new EventSupplier<PooledEvent>() {
+            @Override
+            public PooledEvent get() {
+                return new PooledEvent();
+            }
+        }, 10);
+        eventBus.register(new PooledSubscriber());
+        List<PooledEvent> events = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            // Obtain all first, so no event is reused
+            events.add(pool.obtain());
+        }
+        for (PooledEvent event : events) {
+            eventBus.post(event);
+        }
+        waitForEventCount(4, 5000);
+        for (int i = 0; i < 1000 && pool.size() < 4; i++) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        assertEquals(4, pool.size());
+    }
+
+    @Test
+    public void testUnregisteredBeforeLingerEnds() throws InterruptedException {
+        LingerSubscriber subscriber = new LingerSubscriber();
+        eventBus.register(subscriber);
+        eventBus.post("Event");
+        eventBus.unregister(subscriber);
+        Thread.sleep(150);
+        assertEquals(0, batches.size());
+    }
+
+    private void trackBatch(List<?> batch) {
+        batches.add(new ArrayList<>(batch));
+        for (Object event : batch) {
+            trackEvent(event);
+        }
+    }
+
+    public class SizeSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND, maxBatchSize = 10, maxLingerMillis = 10000)
+        public void onEvents(List<Integer> events) {
+            trackBatch(events);
+        }
+    }
+
+    public class LingerSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC, maxBatchSize = 100, maxLingerMillis = 50)
+        public void onEvents(List<String> events) {
+            trackBatch(events);
+        }
+    }
+
+    public class GatedSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND, maxBatchSize = 100)
+        public void onEvents(List<Integer> events) {
+            started.countDown();
+            awaitLatch(gate, 10);
+            trackBatch(events);
+        }
+    }
+
+    public class PooledSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND, maxBatchSize = 2)
+        public void onEvents(List<? extends PooledEvent> events) {
+            for (PooledEvent event : events) {
+                assertTrue(event.getReferenceCount() > 0);
+            }
+            trackBatch(events);
+        }
+    }
+}
@@ -50,6 +50,15 @@ public class EventBusCancelEventDeliveryTest extends AbstractEventBusTest {
         assertEquals(2, eventCount.intValue());
     }
 
+    @Test
+    public void testCancelDoesNotAffectSuperTypeSubscribers() {
+        eventBus.register(new Subscriber(0, true));
+        eventBus.register(new Subscriber(0, false));
+        eventBus.register(new ObjectSubscriber());
+        eventBus.post("42");
+        assertEquals(2, eventCount.intValue());
+    }
+
     @Test
     public void testCancelOutsideEventHandler() {
         try {
@@ -107,6 +116,13 @@ public class EventBusCancelEventDeliveryTest extends AbstractEventBusTest {
         }
     }
 
+    public class ObjectSubscriber {
+        @Subscribe
+        public void onEvent(Object event) {
+            trackEvent(event);
+        }
+    }
+
     public class SubscriberCancelOtherEvent {
         @Subscribe
         public void onEvent(String event) {
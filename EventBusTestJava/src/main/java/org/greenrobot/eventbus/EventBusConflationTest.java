@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.greenrobot.eventbus.EventBusRecyclableEventTest.PooledEvent;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusConflationTest extends AbstractEventBusTest {
+
+    private final List<Object> received = new CopyOnWriteArrayList<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    @Test
+    public void testConflateAll() {
+        eventBus.register(new ConflatingSubscriber());
+        eventBus.post(0);
+        awaitLatch(started, 10);
+        for (int i = 1; i < 100; i++) {
+            eventBus.post(i);
+        }
+        gate.countDown();
+        waitForEventCount(2, 5000);
+        assertEquals(Arrays.<Object>asList(0, 99), received);
+
+        eventBus.post(100);
+        waitForEventCount(3, 5000);
+    }
+
+    @Test
+    public void testConflateAllWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testConflateAll();
+    }
+
+    @Test
+    public void testConflatePerKey() {
+        eventBus.register(new PriceSubscriber());
+        eventBus.post(new Price("X", 0));
+        awaitLatch(started, 10);
+        eventBus.post(new Price("A", 1));
+        eventBus.post(new Price("B", 1));
+        eventBus.post(new Price("A", 2));
+        eventBus.post(new Price("B", 2));
+        eventBus.post(new Price("A", 3));
+        gate.countDown();
+        waitForEventCount(3, 5000);
+        // Newer events take the place of queued ones
+        assertEquals(Arrays.<Object>asList("X0", "A3", "B2"), received);
+    }
+
+    @Test
+    public void testConflatePerKeyWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testConflatePerKey();
+    }
+
+    @Test
+    public void testOtherSubscribersGetAllEvents() {
+        final List<Object> all = new CopyOnWriteArrayList<>();
+        eventBus.register(new ConflatingSubscriber());
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(Integer event) {
+                all.add(event);
+            }
+        });
+        eventBus.post(0);
+        awaitLatch(started, 10);
+        for (int i = 1; i < 10; i++) {
+            eventBus.post(i);
+        }
+        gate.countDown();
+        waitForEventCount(2, 5000);
+        assertEquals(10, all.size());
+    }
+
+    @Test
+    public void testReplacedEventIsRecycled() {
+        EventPool<PooledEvent> pool = new EventPool<>(new EventSupplier<PooledEvent>() {
+            @Override
+            public PooledEvent get() {
+                return new PooledEvent();
+            }
+        }, 10);
+        eventBus.register(new PooledSubscriber());
+        eventBus.post(pool.obtain());
+        awaitLatch(started, 10);
+        PooledEvent replaced = pool.obtain();
+        eventBus.post(replaced);
+        PooledEvent latest = pool.obtain();
+        eventBus.post(latest);
+        assertEquals(0, replaced.getReferenceCount());
+        assertTrue(replaced.recycled);
+        assertEquals(1, latest.getReferenceCount());
+
+        gate.countDown();
+        waitForEventCount(2, 5000);
+        assertEquals(latest, lastEvent);
+        for (int i = 0; i < 1000 && pool.size() < 3; i++) {
+            sleep(1);
+        }
+        assertEquals(3, pool.size());
+    }
+
+    @Test
+    public void testConflateWithQueueCapacity() {
+        eventBus = EventBus.builder().queueCapacity(ThreadMode.BACKGROUND, 1, OverflowPolicy.REJECT).build();
+        eventBus.register(new ConflatingSubscriber());
+        assertTrue(eventBus.tryPost(0));
+        awaitLatch(started, 10);
+        // Replacing a queued event takes no space
+        for (int i = 1; i < 10; i++) {
+            assertTrue(eventBus.tryPost(i));
+        }
+        gate.countDown();
+        waitForEventCount(2, 5000);
+        assertEquals(Arrays.<Object>asList(0, 9), received);
+    }
+
+    private void awaitGate(Object event) {
+        received.add(event);
+        started.countDown();
+        awaitLatch(gate, 10);
+        trackEvent(event);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static class Price {
+        final String symbol;
+        final int value;
+
+        Price(String symbol, int value) {
+            this.symbol = symbol;
+            this.value = value;
+        }
+    }
+
+    public static class SymbolKey implements KeyExtractor<Price> {
+        @Override
+        public Object getKey(Price event) {
+            return event.symbol;
+        }
+    }
+
+    public class ConflatingSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND, conflate = true)
+        public void onEvent(Integer event) {
+            awaitGate(event);
+        }
+    }
+
+    public class PriceSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND, conflate = true, conflationKey = SymbolKey.class)
+        public void onEvent(Price event) {
+            awaitGate(event.symbol + event.value);
+        }
+    }
+
+    public class PooledSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND, conflate = true)
+        public void onEvent(PooledEvent event) {
+            received.add(event);
+            started.countDown();
+            awaitLatch(gate, 10);
+            trackEvent(event);
+        }
+    }
+}
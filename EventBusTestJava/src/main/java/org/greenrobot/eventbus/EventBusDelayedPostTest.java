@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusDelayedPostTest extends AbstractEventBusTest {
+
+    private static final int TIMER_COUNT = LONG_TESTS ? 1000000 : 100000;
+
+    public EventBusDelayedPostTest() {
+        super(true);
+    }
+
+    @Test
+    public void testPostDelayed() {
+        eventBus.register(new StringSubscriber());
+        long start = System.nanoTime();
+        ScheduledPost scheduledPost = eventBus.postDelayed("Hello", 50);
+        assertFalse(scheduledPost.isDone());
+        waitForEventCount(1, 5000);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals("Hello", lastEvent);
+        assertTrue(scheduledPost.isDone());
+        assertFalse(scheduledPost.cancel());
+        assertFalse(scheduledPost.isCanceled());
+    }
+
+    @Test
+    public void testPostAt() {
+        eventBus.register(new StringSubscriber());
+        eventBus.postAt("Later", System.currentTimeMillis() + 50);
+        eventBus.postAt("Past", System.currentTimeMillis() - 1000);
+        waitForEventCount(2, 5000);
+        assertEquals("Past", eventsReceived.get(0));
+        assertEquals("Later", eventsReceived.get(1));
+    }
+
+    @Test
+    public void testPostedInDeadlineOrder() {
+        eventBus.register(new StringSubscriber());
+        eventBus.postDelayed("3", 150);
+        eventBus.postDelayed("1", 20);
+        eventBus.postDelayed("2", 80);
+        waitForEventCount(3, 5000);
+        assertEquals("1", eventsReceived.get(0));
+        assertEquals("2", eventsReceived.get(1));
+        assertEquals("3", eventsReceived.get(2));
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        eventBus.register(new StringSubscriber());
+        ScheduledPost canceled = eventBus.postDelayed("Canceled", 20);
+        eventBus.postDelayed("Posted", 60);
+        assertTrue(canceled.cancel());
+        assertFalse(canceled.cancel());
+        assertTrue(canceled.isCanceled());
+        assertTrue(canceled.isDone());
+        waitForEventCount(1, 5000);
+        Thread.sleep(20);
+        assertEventCount(1);
+        assertEquals("Posted", lastEvent);
+    }
+
+    @Test
+    public void testPostPeriodically() throws InterruptedException {
+        eventBus.register(new StringSubscriber());
+        ScheduledPost scheduledPost = eventBus.postPeriodically("Tick", 0, 20);
+        assertTrue(scheduledPost.isPeriodic());
+        waitForEventCount(3, 5000);
+        assertFalse(scheduledPost.isDone());
+        assertTrue(scheduledPost.cancel());
+        // A post that was already due may still arrive
+        Thread.sleep(40);
+        int count = eventCount.get();
+        Thread.sleep(60);
+        assertEventCount(count);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPostPeriodicallyWithoutPeriod() {
+        eventBus.postPeriodically("Tick", 0, 0);
+    }
+
+    @Test
+    public void testRecyclableEventReleasedOnCancel() throws InterruptedException {
+        EventPool<EventBusRecyclableEventTest.PooledEvent> pool = new EventPool<>(
+                new EventSupplier<EventBusRecyclableEventTest.PooledEvent>() {
+                    @Override
+                    public EventBusRecyclableEventTest.PooledEvent get() {
+                        return new EventBusRecyclableEventTest.PooledEvent();
+                    }
+                }, 10);
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(EventBusRecyclableEventTest.PooledEvent event) {
+                trackEvent(event);
+            }
+        });
+        EventBusRecyclableEventTest.PooledEvent event = pool.obtain();
+        ScheduledPost scheduledPost = eventBus.postPeriodically(event, 0, 10);
+        waitForEventCount(2, 5000);
+        assertTrue(scheduledPost.cancel());
+        Thread.sleep(50);
+        assertEquals(0, event.getReferenceCount());
+        assertEquals(1, pool.size());
+    }
+
+    /** Timeouts that are typically canceled before they expire; see the performance app for a speed comparison. */
+    @Test
+    public void testScheduleAndCancelManyTimers() {
+        eventBus.register(new StringSubscriber());
+        Random random = new Random(42);
+        List<ScheduledPost> scheduledPosts = new ArrayList<>(TIMER_COUNT);
+        for (int i = 0; i < TIMER_COUNT; i++) {
+            scheduledPosts.add(eventBus.postDelayed("Timeout", 10000 + random.nextInt(50000)));
+        }
+        assertEquals(TIMER_COUNT, eventBus.getTimingWheel().size());
+        for (ScheduledPost scheduledPost : scheduledPosts) {
+            assertTrue(scheduledPost.cancel());
+        }
+        assertEquals(0, eventBus.getTimingWheel().size());
+        assertEventCount(0);
+    }
+
+    public class StringSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+}
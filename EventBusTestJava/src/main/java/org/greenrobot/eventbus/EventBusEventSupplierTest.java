@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusEventSupplierTest extends AbstractEventBusTest {
+
+    private final AtomicInteger suppliedCount = new AtomicInteger();
+    private volatile Class<?> lastSubscriberClass;
+
+    @Test
+    public void testPostWithoutSubscriber() {
+        eventBus.register(new NoSubscriberEventSubscriber());
+        assertFalse(eventBus.post(String.class, new CountingSupplier("Hello")));
+        assertEquals(0, suppliedCount.get());
+        assertEventCount(0);
+    }
+
+    @Test
+    public void testPostWithSubscriber() {
+        eventBus.register(new StringSubscriber());
+        assertTrue(eventBus.post(String.class, new CountingSupplier("Hello")));
+        assertEquals(1, suppliedCount.get());
+        assertEventCount(1);
+        assertEquals("Hello", lastEvent);
+    }
+
+    @Test
+    public void testPostWithSubscriberRegisteredBySupplier() {
+        final StringSubscriber subscriber = new StringSubscriber();
+        eventBus.register(subscriber);
+        assertTrue(eventBus.post(String.class, new EventSupplier<String>() {
+            @Override
+            public String get() {
+                // Changes the subscriptions resolved before the event was created
+                eventBus.unregister(subscriber);
+                eventBus.register(new CharSequenceSubscriber());
+                return "Hello";
+            }
+        }));
+        assertEventCount(1);
+        assertEquals("Hello", lastEvent);
+        assertEquals(CharSequenceSubscriber.class, lastSubscriberClass);
+    }
+
+    @Test
+    public void testPostWithSuperTypeSubscriber() {
+        eventBus.register(new CharSequenceSubscriber());
+        assertTrue(eventBus.post(String.class, new CountingSupplier("Hello")));
+        assertEventCount(1);
+        assertEquals("Hello", lastEvent);
+    }
+
+    @Test
+    public void testPostStickyWithSubscriber() {
+        eventBus.register(new StringSubscriber());
+        eventBus.postSticky(String.class, new CountingSupplier("Sticky"));
+        assertEquals(1, suppliedCount.get());
+        assertEventCount(1);
+        assertEquals("Sticky", eventBus.getStickyEvent(String.class));
+        assertEquals(1, suppliedCount.get());
+    }
+
+    @Test
+    public void testPostStickyCreatedOnRegister() {
+        eventBus.postSticky(String.class, new CountingSupplier("Sticky"));
+        assertEquals(0, suppliedCount.get());
+        eventBus.register(new StickyStringSubscriber());
+        assertEquals(1, suppliedCount.get());
+        assertEventCount(1);
+        assertEquals("Sticky", lastEvent);
+        eventBus.register(new StickyStringSubscriber());
+        assertEquals(1, suppliedCount.get());
+        assertEventCount(2);
+    }
+
+    @Test
+    public void testPostStickyCreatedOnGet() {
+        eventBus.postSticky(String.class, new CountingSupplier("Sticky"));
+        assertEquals(0, suppliedCount.get());
+        assertEquals("Sticky", eventBus.getStickyEvent(String.class));
+        assertEquals("Sticky", eventBus.getStickyEvent(String.class));
+        assertEquals(1, suppliedCount.get());
+    }
+
+    @Test
+    public void testPostStickyReplaced() {
+        eventBus.postSticky(String.class, new CountingSupplier("Lazy"));
+        eventBus.postSticky("Eager");
+        assertEquals("Eager", eventBus.getStickyEvent(String.class));
+        eventBus.postSticky(String.class, new CountingSupplier("Lazy"));
+        assertEquals("Lazy", eventBus.removeStickyEvent(String.class));
+        assertNull(eventBus.getStickyEvent(String.class));
+        assertEquals(1, suppliedCount.get());
+    }
+
+    @Test
+    public void testRemoveStickyEventLazy() {
+        eventBus.postSticky(String.class, new CountingSupplier("Lazy"));
+        assertTrue(eventBus.removeStickyEvent("Lazy"));
+        assertNull(eventBus.getStickyEvent(String.class));
+    }
+
+    private class CountingSupplier implements EventSupplier<String> {
+        private final String event;
+
+        CountingSupplier(String event) {
+            this.event = event;
+        }
+
+        @Override
+        public String get() {
+            suppliedCount.incrementAndGet();
+            return event;
+        }
+    }
+
+    public class StringSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class CharSequenceSubscriber {
+        @Subscribe
+        public void onEvent(CharSequence event) {
+            lastSubscriberClass = getClass();
+            trackEvent(event);
+        }
+    }
+
+    public class StickyStringSubscriber {
+        @Subscribe(sticky = true)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class NoSubscriberEventSubscriber {
+        @Subscribe
+        public void onEvent(NoSubscriberEvent event) {
+            trackEvent(event);
+        }
+    }
+
+}
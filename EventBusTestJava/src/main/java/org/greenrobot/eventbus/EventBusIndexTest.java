@@ -17,6 +17,7 @@
 package org.greenrobot.eventbus;
 
 import org.greenrobot.eventbus.meta.SimpleSubscriberInfo;
+import org.greenrobot.eventbus.meta.SubscriberDispatcher;
 import org.greenrobot.eventbus.meta.SubscriberInfo;
 import org.greenrobot.eventbus.meta.SubscriberInfoIndex;
 import org.greenrobot.eventbus.meta.SubscriberMethodInfo;
@@ -48,7 +49,83 @@ public class EventBusIndexTest {
         Assert.assertEquals("Yepp", value);
     }
 
+    /** Ensures a dispatcher is used for both registration and delivery: the method name can't be found by reflection. */
+    @Test
+    public void testManualIndexWithDispatcher() {
+        SubscriberInfoIndex index = new SubscriberInfoIndex() {
+
+            @Override
+            public SubscriberInfo getSubscriberInfo(Class<?> subscriberClass) {
+                Assert.assertEquals(EventBusIndexTest.class, subscriberClass);
+                SubscriberMethodInfo[] methodInfos = {
+                        new SubscriberMethodInfo("noSuchMethod", String.class)
+                };
+                SubscriberDispatcher dispatcher = new SubscriberDispatcher() {
+                    @Override
+                    public void dispatch(int methodIndex, Object subscriber, Object event) {
+                        Assert.assertEquals(0, methodIndex);
+                        ((EventBusIndexTest) subscriber).someMethodWithoutAnnotation((String) event);
+                    }
+                };
+                return new SimpleSubscriberInfo(EventBusIndexTest.class, false, methodInfos, dispatcher);
+            }
+        };
+
+        EventBus eventBus = EventBus.builder().addIndex(index).build();
+        eventBus.register(this);
+        eventBus.post("Yepp");
+        eventBus.unregister(this);
+        Assert.assertEquals("Yepp", value);
+    }
+
+    /** Dispatchers not extending AbstractSubscriberDispatcher leave signal methods to reflection. */
+    @Test
+    public void testManualIndexWithDispatcherWithoutSignals() {
+        SubscriberInfoIndex index = new SubscriberInfoIndex() {
+
+            @Override
+            public SubscriberInfo getSubscriberInfo(Class<?> subscriberClass) {
+                Assert.assertEquals(SignalSubscriber.class, subscriberClass);
+                SubscriberMethodInfo[] methodInfos = {
+                        new SubscriberMethodInfo("onSignal", long.class)
+                };
+                SubscriberDispatcher dispatcher = new SubscriberDispatcher() {
+                    @Override
+                    public void dispatch(int methodIndex, Object subscriber, Object event) {
+                        Assert.fail("No event methods");
+                    }
+                };
+                return new SimpleSubscriberInfo(SignalSubscriber.class, false, methodInfos, dispatcher);
+            }
+        };
+
+        EventBus eventBus = EventBus.builder().addIndex(index).build();
+        SignalSubscriber subscriber = new SignalSubscriber();
+        eventBus.register(subscriber);
+        eventBus.post(1, 2L);
+        eventBus.unregister(subscriber);
+        Assert.assertEquals(2L, subscriber.lastValue);
+    }
+
+    @Test
+    public void testGeneratedIndexWithDispatcher() {
+        EventBus eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        EventBusBasicTest.StringEventSubscriber subscriber = new EventBusBasicTest.StringEventSubscriber();
+        eventBus.register(subscriber);
+        eventBus.post("Yepp");
+        eventBus.unregister(subscriber);
+        Assert.assertEquals("Yepp", subscriber.lastStringEvent);
+    }
+
     public void someMethodWithoutAnnotation(String value) {
         this.value = value;
     }
+
+    public static class SignalSubscriber {
+        long lastValue;
+
+        public void onSignal(int key, long value) {
+            lastValue = value;
+        }
+    }
 }
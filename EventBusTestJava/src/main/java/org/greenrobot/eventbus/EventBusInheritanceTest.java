@@ -66,6 +66,54 @@ public class EventBusInheritanceTest {
         assertEquals(3, countObjectEvent);
     }
 
+    @Test
+    public void testEventClassHierarchyStickyInterfaces() {
+        eventBus.postSticky(new MyEvent());
+        eventBus.postSticky(new MyEventExtended());
+        eventBus.register(new StickySubscriber());
+        assertEquals(2, countMyEventInterface);
+        assertEquals(1, countMyEventInterfaceExtended);
+    }
+
+    @Test
+    public void testEventClassHierarchyStickyAfterRemoval() {
+        eventBus.postSticky("Hello");
+        eventBus.postSticky(new MyEvent());
+        MyEventExtended extended = new MyEventExtended();
+        eventBus.postSticky(extended);
+        eventBus.removeStickyEvent(MyEvent.class);
+        eventBus.removeStickyEvent(extended);
+        eventBus.postSticky(new MyEvent());
+        eventBus.register(new StickySubscriber());
+        assertEquals(0, countMyEventExtended);
+        assertEquals(1, countMyEvent);
+        assertEquals(1, countMyEventInterface);
+        assertEquals(2, countObjectEvent);
+
+        eventBus.removeAllStickyEvents();
+        eventBus.register(new StickySubscriber());
+        assertEquals(2, countObjectEvent);
+    }
+
+    @Test
+    public void testEventClassHierarchyAfterRegistrationChanges() {
+        eventBus.post(new MyEventExtended());
+
+        eventBus.register(this);
+        eventBus.post(new MyEventExtended());
+        assertEquals(1, countObjectEvent);
+        assertEquals(1, countMyEvent);
+        assertEquals(1, countMyEventExtended);
+        assertEquals(1, countMyEventInterface);
+        assertEquals(1, countMyEventInterfaceExtended);
+
+        eventBus.unregister(this);
+        eventBus.post(new MyEventExtended());
+        assertEquals(1, countObjectEvent);
+        assertEquals(1, countMyEvent);
+        assertEquals(1, countMyEventExtended);
+    }
+
     @Test
     public void testEventInterfaceHierarchy() {
         eventBus.register(this);
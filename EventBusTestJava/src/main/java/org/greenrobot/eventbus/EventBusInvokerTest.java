@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Covers direct (java.lang.invoke based) and reflective invocation of subscriber methods.
+ */
+public class EventBusInvokerTest extends AbstractEventBusTest {
+
+    static final int COUNT = LONG_TESTS ? 1000000 : 10000;
+
+    @Test
+    public void testPostToPublicSubscriber() {
+        assertDelivered(EventBus.builder().build(), new PublicSubscriber());
+        assertDelivered(EventBus.builder().invokeUsingReflection(true).build(), new PublicSubscriber());
+    }
+
+    @Test
+    public void testPostToNonPublicSubscriber() {
+        assertDelivered(EventBus.builder().build(), new NonPublicSubscriber());
+        assertDelivered(EventBus.builder().invokeUsingReflection(true).build(), new NonPublicSubscriber());
+    }
+
+    @Test
+    public void testSubscriberException() {
+        assertSubscriberException(EventBus.builder().logSubscriberExceptions(false).build());
+        assertSubscriberException(EventBus.builder().logSubscriberExceptions(false).invokeUsingReflection(true)
+                .build());
+    }
+
+    /** Compare the speed in the performance app, which can also invoke using reflection. */
+    @Test
+    public void testDirectAndReflectionInThreadModes() {
+        for (ThreadMode threadMode : new ThreadMode[]{ThreadMode.POSTING, ThreadMode.BACKGROUND, ThreadMode.ASYNC}) {
+            postAndWait(EventBus.builder().invokeUsingReflection(true).build(), threadMode);
+            postAndWait(EventBus.builder().build(), threadMode);
+        }
+    }
+
+    private void assertDelivered(EventBus eventBus, Object subscriber) {
+        eventCount.set(0);
+        eventBus.register(subscriber);
+        eventBus.post("Hello");
+        eventBus.unregister(subscriber);
+        assertEventCount(1);
+        assertEquals("Hello", lastEvent);
+    }
+
+    private void assertSubscriberException(EventBus eventBus) {
+        eventCount.set(0);
+        ThrowingSubscriber subscriber = new ThrowingSubscriber();
+        eventBus.register(subscriber);
+        eventBus.post("Foo");
+        eventBus.unregister(subscriber);
+        assertEventCount(1);
+        SubscriberExceptionEvent exEvent = (SubscriberExceptionEvent) lastEvent;
+        assertEquals("Foo", exEvent.causingEvent);
+        assertSame(subscriber, exEvent.causingSubscriber);
+        assertEquals("Bar", exEvent.throwable.getMessage());
+    }
+
+    private void postAndWait(EventBus eventBus, ThreadMode threadMode) {
+        eventCount.set(0);
+        Object subscriber;
+        switch (threadMode) {
+            case BACKGROUND:
+                subscriber = new BackgroundSubscriber();
+                break;
+            case ASYNC:
+                subscriber = new AsyncSubscriber();
+                break;
+            default:
+                subscriber = new PublicSubscriber();
+        }
+        eventBus.register(subscriber);
+        for (int i = 0; i < COUNT; i++) {
+            eventBus.post("Hello");
+        }
+        waitForEventCount(COUNT, 10000);
+        eventBus.unregister(subscriber);
+    }
+
+    public class PublicSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class BackgroundSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class AsyncSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    private class NonPublicSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class ThrowingSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            throw new RuntimeException("Bar");
+        }
+
+        @Subscribe
+        public void onEvent(SubscriberExceptionEvent event) {
+            trackEvent(event);
+        }
+    }
+
+}
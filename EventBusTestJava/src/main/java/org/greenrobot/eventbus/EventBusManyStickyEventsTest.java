@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/** Registers sticky subscribers while many sticky events are kept; only the matching sticky events are visited. */
+public class EventBusManyStickyEventsTest extends AbstractEventBusTest {
+
+    private static final Object[] UNRELATED_EVENTS = {"Sticky", 1, 2L, 3f, 4d, (short) 5, (byte) 6, 'c', true,
+            new StringBuilder(), new ArrayList<>(), new HashMap<>(), new HashSet<>(), new LinkedList<>(),
+            new TreeMap<>(), new Date(), BigInteger.ONE, BigDecimal.ONE, new AtomicInteger(), new AtomicLong()};
+
+    @Test
+    public void testRegisterVisitsMatchingStickyEventsOnly() {
+        postUnrelatedStickyEvents();
+        eventBus.postSticky(new BaseEvent());
+        eventBus.postSticky(new SubEventA());
+        postUnrelatedStickyEvents();
+        eventBus.postSticky(new SubEventB());
+
+        assertArrayEquals(new Class<?>[]{BaseEvent.class, SubEventA.class, SubEventB.class},
+                eventBus.getStickyEventTypes(BaseEvent.class));
+        assertArrayEquals(new Class<?>[]{SubEventB.class}, eventBus.getStickyEventTypes(MarkerEvent.class));
+        assertEquals(UNRELATED_EVENTS.length + 3, eventBus.getStickyEventTypes(Object.class).length);
+
+        eventBus.register(new BaseEventSubscriber());
+        assertEventCount(3);
+    }
+
+    @Test
+    public void testRemovedStickyEventsAreNotVisited() {
+        postUnrelatedStickyEvents();
+        eventBus.postSticky(new BaseEvent());
+        SubEventA subEventA = new SubEventA();
+        eventBus.postSticky(subEventA);
+        eventBus.postSticky(new SubEventB());
+
+        eventBus.removeStickyEvent(subEventA);
+        eventBus.removeStickyEvent(BaseEvent.class);
+        assertArrayEquals(new Class<?>[]{SubEventB.class}, eventBus.getStickyEventTypes(BaseEvent.class));
+
+        eventBus.removeAllStickyEvents();
+        assertEquals(0, eventBus.getStickyEventTypes(Object.class).length);
+        eventBus.register(new BaseEventSubscriber());
+        assertEventCount(0);
+    }
+
+    private void postUnrelatedStickyEvents() {
+        for (Object event : UNRELATED_EVENTS) {
+            eventBus.postSticky(event);
+        }
+    }
+
+    public class BaseEventSubscriber {
+        @Subscribe(sticky = true)
+        public void onEvent(BaseEvent event) {
+            trackEvent(event);
+        }
+    }
+
+    public interface MarkerEvent {
+    }
+
+    public static class BaseEvent {
+    }
+
+    public static class SubEventA extends BaseEvent {
+    }
+
+    public static class SubEventB extends BaseEvent implements MarkerEvent {
+    }
+}
@@ -17,6 +17,9 @@ package org.greenrobot.eventbus;
 
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 
@@ -57,6 +60,68 @@ public class EventBusNoSubscriberEventTest extends AbstractEventBusTest {
         assertEquals("Foo", noSub.originalEvent);
     }
 
+    @Test
+    public void testNoSubscriberEventInterval() {
+        eventBus = EventBus.builder().noSubscriberEventInterval(60000).build();
+        eventBus.register(this);
+        eventBus.post("Foo");
+        assertEventCount(1);
+        assertEquals(1, ((NoSubscriberEvent) lastEvent).eventCount);
+        for (int i = 0; i < 100; i++) {
+            eventBus.post("Bar");
+        }
+        // Other event classes are not affected
+        eventBus.post(42);
+        assertEventCount(2);
+        NoSubscriberEvent noSub = (NoSubscriberEvent) lastEvent;
+        assertEquals(42, noSub.originalEvent);
+        assertEquals(1, noSub.eventCount);
+    }
+
+    @Test
+    public void testNoSubscriberEventIntervalPassed() throws InterruptedException {
+        // Far above scheduling noise, so the posts below are within the interval even on a loaded machine
+        eventBus = EventBus.builder().noSubscriberEventInterval(1000).build();
+        eventBus.register(this);
+        eventBus.post("Foo");
+        eventBus.post("Foo");
+        eventBus.post("Foo");
+        assertEventCount(1);
+        Thread.sleep(1100);
+        eventBus.post("Bar");
+        assertEventCount(2);
+        NoSubscriberEvent noSub = (NoSubscriberEvent) lastEvent;
+        assertEquals("Bar", noSub.originalEvent);
+        assertEquals(3, noSub.eventCount);
+    }
+
+    @Test
+    public void testNoSubscriberMessageLoggedOncePerClass() {
+        final AtomicInteger logCount = new AtomicInteger();
+        eventBus = EventBus.builder().logger(new Logger() {
+            @Override
+            public void log(Level level, String msg) {
+                logCount.incrementAndGet();
+            }
+
+            @Override
+            public void log(Level level, String msg, Throwable th) {
+                logCount.incrementAndGet();
+            }
+        }).build();
+        for (int i = 0; i < 100; i++) {
+            eventBus.post("Foo");
+        }
+        assertEquals(1, logCount.get());
+
+        // Logged again after subscriptions for the class changed
+        Object subscriber = new DummySubscriber();
+        eventBus.register(subscriber);
+        eventBus.unregister(subscriber);
+        eventBus.post("Foo");
+        assertEquals(2, logCount.get());
+    }
+
     @Subscribe
     public void onEvent(NoSubscriberEvent event) {
         trackEvent(event);
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusPublisherTest extends AbstractEventBusTest {
+
+    static final int COUNT = LONG_TESTS ? 1000000 : 10000;
+
+    public EventBusPublisherTest() {
+        super(true);
+    }
+
+    @Test
+    public void testPublisherPost() {
+        Publisher<String> publisher = eventBus.publisherFor(String.class);
+        assertEquals(String.class, publisher.getEventClass());
+        eventBus.register(new StringSubscriber());
+        publisher.post("Hello");
+        assertEventCount(1);
+        assertEquals("Hello", lastEvent);
+    }
+
+    @Test
+    public void testPublisherAfterRegistrationChanges() {
+        Publisher<String> publisher = eventBus.publisherFor(String.class);
+        assertFalse(publisher.hasSubscribers());
+        publisher.post("Nobody");
+
+        StringSubscriber subscriber = new StringSubscriber();
+        eventBus.register(subscriber);
+        assertTrue(publisher.hasSubscribers());
+        publisher.post("1");
+
+        ObjectSubscriber objectSubscriber = new ObjectSubscriber();
+        eventBus.register(objectSubscriber);
+        publisher.post("2");
+
+        eventBus.unregister(subscriber);
+        publisher.post("3");
+
+        eventBus.unregister(objectSubscriber);
+        assertFalse(publisher.hasSubscribers());
+        publisher.post("Nobody");
+
+        assertEquals(Arrays.<Object>asList("1", "2", "2", "3"), eventsReceived);
+    }
+
+    @Test
+    public void testPublisherNotAffectedByUnrelatedRegistration() {
+        Publisher<String> publisher = eventBus.publisherFor(String.class);
+        eventBus.register(new StringSubscriber());
+        publisher.post("1");
+        eventBus.register(new IntegerSubscriber());
+        publisher.post("2");
+        assertEquals(Arrays.<Object>asList("1", "2"), eventsReceived);
+    }
+
+    @Test
+    public void testPublisherPostFromSubscriber() {
+        final Publisher<Integer> publisher = eventBus.publisherFor(Integer.class);
+        eventBus.register(new IntegerSubscriber());
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(String event) {
+                trackEvent(event);
+                publisher.post(event.length());
+            }
+        });
+        eventBus.post("Hello");
+        eventBus.post("Hi");
+        assertEquals(Arrays.<Object>asList("Hello", 5, "Hi", 2), eventsReceived);
+    }
+
+    @Test
+    public void testPublisherWithSubclassEvent() {
+        Publisher<Object> publisher = eventBus.publisherFor(Object.class);
+        eventBus.register(new StringSubscriber());
+        eventBus.register(new ObjectSubscriber());
+        publisher.post("Hello");
+        assertEventCount(2);
+    }
+
+    @Test
+    public void testPublisherAndPostDeliverAlike() {
+        eventBus.register(new CountingSubscriber());
+        Publisher<String> publisher = eventBus.publisherFor(String.class);
+        for (int i = 0; i < COUNT; i++) {
+            eventBus.post("Hello");
+        }
+        assertEventCount(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            publisher.post("Hello");
+        }
+        assertEventCount(2 * COUNT);
+    }
+
+    public class StringSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class ObjectSubscriber {
+        @Subscribe
+        public void onEvent(Object event) {
+            trackEvent(event);
+        }
+    }
+
+    public class IntegerSubscriber {
+        @Subscribe
+        public void onEvent(Integer event) {
+            trackEvent(event);
+        }
+    }
+
+    public class CountingSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            eventCount.incrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.greenrobot.eventbus.EventBusRecyclableEventTest.PooledEvent;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusQueueCapacityTest extends AbstractEventBusTest {
+
+    private final List<Object> received = new CopyOnWriteArrayList<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    @Test
+    public void testDropNewest() {
+        eventBus = EventBus.builder().queueCapacity(ThreadMode.BACKGROUND, 2, OverflowPolicy.DROP_NEWEST).build();
+        eventBus.register(new BackgroundSubscriber());
+        postWhileBlocked(5);
+        assertEquals(Arrays.<Object>asList(0, 1, 2), received);
+    }
+
+    @Test
+    public void testDropOldest() {
+        eventBus = EventBus.builder().queueCapacity(ThreadMode.BACKGROUND, 2, OverflowPolicy.DROP_OLDEST).build();
+        eventBus.register(new BackgroundSubscriber());
+        postWhileBlocked(5);
+        assertEquals(Arrays.<Object>asList(0, 3, 4), received);
+    }
+
+    @Test
+    public void testRejectWithTryPost() {
+        eventBus = EventBus.builder().queueCapacity(ThreadMode.BACKGROUND, 1, OverflowPolicy.REJECT).build();
+        eventBus.register(new BackgroundSubscriber());
+        assertTrue(eventBus.tryPost(0));
+        awaitLatch(started, 10);
+        assertTrue(eventBus.tryPost(1));
+        assertFalse(eventBus.tryPost(2));
+        gate.countDown();
+        waitForEventCount(2, 5000);
+        assertTrue(eventBus.tryPost(3));
+        waitForEventCount(3, 5000);
+        assertEquals(Arrays.<Object>asList(0, 1, 3), received);
+    }
+
+    @Test
+    public void testTryPostWithoutLimits() {
+        eventBus.register(new BackgroundSubscriber());
+        gate.countDown();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(eventBus.tryPost(i));
+        }
+        waitForEventCount(100, 5000);
+    }
+
+    @Test
+    public void testBlock() throws InterruptedException {
+        eventBus = EventBus.builder().queueCapacity(ThreadMode.BACKGROUND, 1, OverflowPolicy.BLOCK).build();
+        eventBus.register(new BackgroundSubscriber());
+        eventBus.post(0);
+        awaitLatch(started, 10);
+        eventBus.post(1);
+        Thread publisher = new Thread() {
+            @Override
+            public void run() {
+                eventBus.post(2);
+            }
+        };
+        publisher.start();
+        publisher.join(100);
+        assertTrue(publisher.isAlive());
+        assertEquals(0, eventCount.get());
+
+        gate.countDown();
+        publisher.join(5000);
+        assertFalse(publisher.isAlive());
+        waitForEventCount(3, 5000);
+        assertEquals(Arrays.<Object>asList(0, 1, 2), received);
+    }
+
+    @Test
+    public void testBlockDoesNotWaitForDeliveringThread() {
+        eventBus = EventBus.builder().queueCapacity(ThreadMode.BACKGROUND, 1, OverflowPolicy.BLOCK).build();
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.BACKGROUND)
+            public void onEvent(Integer event) {
+                if (event == 0) {
+                    for (int i = 1; i <= 10; i++) {
+                        eventBus.post(i);
+                    }
+                }
+                trackEvent(event);
+            }
+        });
+        eventBus.post(0);
+        waitForEventCount(11, 5000);
+    }
+
+    @Test
+    public void testBlockDoesNotWaitForSameLane() {
+        eventBus.register(new CascadingSubscriber());
+        eventBus.post("cascade");
+        waitForEventCount(4, 5000);
+        assertEquals(Arrays.<Object>asList(1, 2, 3), received);
+    }
+
+    @Test
+    public void testSubscriptionCapacity() {
+        LimitedSubscriber limitedSubscriber = new LimitedSubscriber();
+        eventBus.register(limitedSubscriber);
+        eventBus.post(0);
+        awaitLatch(started, 10);
+        for (int i = 1; i < 5; i++) {
+            eventBus.post(i);
+        }
+        // Other subscriptions of the same thread mode are not limited
+        waitForEventCount(5, 5000);
+        gate.countDown();
+        waitForEventCount(7, 5000);
+        assertEquals(Arrays.<Object>asList(0, 1), received);
+    }
+
+    @Test
+    public void testSubscriptionCapacityWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testSubscriptionCapacity();
+    }
+
+    @Test
+    public void testDroppedEventIsRecycled() {
+        EventPool<PooledEvent> pool = new EventPool<>(new EventSupplier<PooledEvent>() {
+            @Override
+            public PooledEvent get() {
+                return new PooledEvent();
+            }
+        }, 10);
+        eventBus = EventBus.builder().queueCapacity(ThreadMode.BACKGROUND, 1, OverflowPolicy.DROP_NEWEST).build();
+        eventBus.register(new BackgroundSubscriber());
+        eventBus.post(0);
+        awaitLatch(started, 10);
+        eventBus.post(pool.obtain());
+        PooledEvent dropped = pool.obtain();
+        eventBus.post(dropped);
+        assertEquals(0, dropped.getReferenceCount());
+        assertTrue(dropped.recycled);
+        assertEquals(1, pool.size());
+
+        gate.countDown();
+        waitForEventCount(2, 5000);
+        assertEquals(2, pool.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPostingModeNotAllowed() {
+        EventBus.builder().queueCapacity(ThreadMode.POSTING, 1, OverflowPolicy.BLOCK);
+    }
+
+    @Test(expected = EventBusException.class)
+    public void testRingBufferNotAllowed() {
+        EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 16, WaitStrategy.PARK)
+                .queueCapacity(ThreadMode.BACKGROUND, 1, OverflowPolicy.BLOCK).build();
+    }
+
+    /** Posts the given number of events while the first one is still being delivered. */
+    private void postWhileBlocked(int count) {
+        eventBus.post(0);
+        awaitLatch(started, 10);
+        for (int i = 1; i < count; i++) {
+            eventBus.post(i);
+        }
+        gate.countDown();
+        waitForEventCount(3, 5000);
+        // Dropped events are not delivered later
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void awaitGate(Object event) {
+        received.add(event);
+        started.countDown();
+        awaitLatch(gate, 10);
+        trackEvent(event);
+    }
+
+    public class BackgroundSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onEvent(Object event) {
+            awaitGate(event);
+        }
+    }
+
+    public class CascadingSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onEvent(String event) {
+            // The BACKGROUND thread delivering this would wait for itself to deliver the limited subscription's events
+            for (int i = 1; i <= 3; i++) {
+                eventBus.post(i);
+            }
+            trackEvent(event);
+        }
+
+        @Subscribe(threadMode = ThreadMode.BACKGROUND, queueCapacity = 1)
+        public void onEventLimited(Integer event) {
+            received.add(event);
+            trackEvent(event);
+        }
+    }
+
+    public class LimitedSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC, maxConcurrency = 1, queueCapacity = 1,
+                overflowPolicy = OverflowPolicy.DROP_NEWEST)
+        public void onEvent(Integer event) {
+            awaitGate(event);
+        }
+
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        public void onEventUnlimited(Integer event) {
+            trackEvent(event);
+        }
+    }
+}
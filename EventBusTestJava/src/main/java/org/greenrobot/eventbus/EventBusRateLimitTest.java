@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.greenrobot.eventbus.EventBusRecyclableEventTest.PooledEvent;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusRateLimitTest extends AbstractEventBusTest {
+
+    private final List<Object> received = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testDebounce() {
+        eventBus.register(new DebounceSubscriber());
+        for (int i = 0; i < 10; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(1, 5000);
+        sleep(150);
+        assertEquals(Arrays.<Object>asList(9), received);
+    }
+
+    @Test
+    public void testDebounceWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testDebounce();
+    }
+
+    @Test
+    public void testDebounceWaitsForQuiet() {
+        eventBus.register(new DebounceSubscriber());
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            eventBus.post(i);
+            sleep(20);
+        }
+        waitForEventCount(1, 5000);
+        // The last event, posted after 80 ms, restarted the debounce interval
+        assertTrue(System.nanoTime() - start >= 130 * 1000000L);
+        assertEquals(Arrays.<Object>asList(4), received);
+    }
+
+    @Test
+    public void testThrottle() {
+        eventBus.register(new ThrottleSubscriber());
+        eventBus.post(0);
+        waitForEventCount(1, 5000);
+        for (int i = 1; i <= 5; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(2, 5000);
+        assertEquals(Arrays.<Object>asList(0, 5), received);
+        sleep(300);
+        assertEquals(2, received.size());
+
+        // Intervals are over, so the next event is delivered right away
+        eventBus.post(6);
+        waitForEventCount(3, 5000);
+    }
+
+    @Test
+    public void testThrottleWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testThrottle();
+    }
+
+    @Test
+    public void testSuppressedEventsAreRecycled() {
+        EventPool<PooledEvent> pool = new EventPool<>(new EventSupplier<PooledEvent>() {
+            @Override
+            public PooledEvent get() {
+                return new PooledEvent();
+            }
+        }, 10);
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.BACKGROUND, debounceMillis = 50)
+            public void onEvent(PooledEvent event) {
+                trackEvent(event);
+            }
+        });
+        PooledEvent suppressed = pool.obtain();
+        PooledEvent latest = pool.obtain();
+        eventBus.post(suppressed);
+        eventBus.post(latest);
+        assertEquals(0, suppressed.getReferenceCount());
+        assertEquals(1, latest.getReferenceCount());
+        waitForEventCount(1, 5000);
+        assertEquals(latest, lastEvent);
+        for (int i = 0; i < 1000 && pool.size() < 2; i++) {
+            sleep(1);
+        }
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testSubscribersLimitedIndependently() {
+        DebounceSubscriber subscriber1 = new DebounceSubscriber();
+        DebounceSubscriber subscriber2 = new DebounceSubscriber();
+        eventBus.register(subscriber1);
+        eventBus.register(subscriber2);
+        for (int i = 0; i < 10; i++) {
+            eventBus.post(i);
+        }
+        waitForEventCount(2, 5000);
+        assertEquals(Arrays.<Object>asList(9, 9), received);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public class DebounceSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND, debounceMillis = 50)
+        public void onEvent(Integer event) {
+            received.add(event);
+            trackEvent(event);
+        }
+    }
+
+    public class ThrottleSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC, throttleMillis = 100)
+        public void onEvent(Integer event) {
+            received.add(event);
+            trackEvent(event);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusRecyclableEventTest extends AbstractEventBusTest {
+
+    private final EventPool<PooledEvent> pool = new EventPool<>(new EventSupplier<PooledEvent>() {
+        @Override
+        public PooledEvent get() {
+            return new PooledEvent();
+        }
+    }, 10);
+
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testRecycledAfterPosting() {
+        eventBus.register(new PostingSubscriber());
+        PooledEvent event = obtainEvent("Hello");
+        eventBus.post(event);
+        assertEventCount(1);
+        assertEquals(0, event.getReferenceCount());
+        assertEquals(1, pool.size());
+        assertSame(event, pool.obtain());
+    }
+
+    @Test
+    public void testRecycledWithoutSubscribers() {
+        PooledEvent event = obtainEvent("Nobody");
+        eventBus.post(event);
+        assertEquals(0, event.getReferenceCount());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testRecycledAfterAllThreadModes() {
+        eventBus.register(new PostingSubscriber());
+        eventBus.register(new BackgroundSubscriber());
+        eventBus.register(new AsyncSubscriber());
+        for (int i = 0; i < 100; i++) {
+            eventBus.post(obtainEvent("Event " + i));
+        }
+        waitForEventCount(300, 5000);
+        waitForPoolSize(10);
+        assertEquals(0, errors.size());
+    }
+
+    @Test
+    public void testRetainedBySubscriber() {
+        final List<PooledEvent> kept = new CopyOnWriteArrayList<>();
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(PooledEvent event) {
+                event.retain();
+                kept.add(event);
+            }
+        });
+        PooledEvent event = obtainEvent("Keep me");
+        eventBus.post(event);
+        assertEquals(1, event.getReferenceCount());
+        assertEquals("Keep me", event.text);
+        event.release();
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testStickyRetention() {
+        PooledEvent event = obtainEvent("Sticky");
+        eventBus.postSticky(event);
+        assertEquals(1, event.getReferenceCount());
+        eventBus.register(new StickySubscriber());
+        assertEventCount(1);
+        assertEquals("Sticky", event.text);
+
+        PooledEvent newEvent = obtainEvent("Sticky 2");
+        eventBus.postSticky(newEvent);
+        assertEquals(0, event.getReferenceCount());
+        assertEquals(1, newEvent.getReferenceCount());
+
+        assertTrue(eventBus.removeStickyEvent(newEvent));
+        assertEquals(0, newEvent.getReferenceCount());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testRemoveStickyEventPassesReference() {
+        PooledEvent event = obtainEvent("Sticky");
+        eventBus.postSticky(event);
+        assertSame(event, eventBus.removeStickyEvent(PooledEvent.class));
+        assertEquals(1, event.getReferenceCount());
+        event.release();
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testNoSubscriberEventKeepsOriginalEvent() {
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.BACKGROUND)
+            public void onEvent(NoSubscriberEvent event) {
+                checkNotRecycled((PooledEvent) event.originalEvent);
+                trackEvent(event);
+            }
+        });
+        PooledEvent event = obtainEvent("Nobody");
+        eventBus.post(event);
+        waitForEventCount(1, 1000);
+        waitForPoolSize(1);
+        assertEquals(0, errors.size());
+    }
+
+    @Test
+    public void testSubscriberExceptionEventKeepsCausingEvent() {
+        eventBus = EventBus.builder().logSubscriberExceptions(false).build();
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onEvent(PooledEvent event) {
+                throw new RuntimeException("Expected");
+            }
+
+            @Subscribe(threadMode = ThreadMode.ASYNC)
+            public void onEvent(SubscriberExceptionEvent event) {
+                checkNotRecycled((PooledEvent) event.causingEvent);
+                trackEvent(event);
+            }
+        });
+        eventBus.post(obtainEvent("Failing"));
+        waitForEventCount(1, 1000);
+        waitForPoolSize(1);
+        assertEquals(0, errors.size());
+    }
+
+    @Test
+    public void testDirectByteBufferPayloadReused() {
+        EventPool<BufferEvent> bufferPool = new EventPool<>(new EventSupplier<BufferEvent>() {
+            @Override
+            public BufferEvent get() {
+                return new BufferEvent();
+            }
+        }, 1);
+        eventBus.register(new BufferSubscriber());
+        BufferEvent event = bufferPool.obtain();
+        ByteBuffer buffer = event.payload;
+        assertTrue(buffer.isDirect());
+        event.payload.putLong(42);
+        eventBus.post(event);
+        assertEventCount(1);
+        assertEquals(42L, lastEvent);
+
+        BufferEvent event2 = bufferPool.obtain();
+        assertSame(event, event2);
+        assertSame(buffer, event2.payload);
+        assertEquals(0, event2.payload.position());
+    }
+
+    @Test
+    public void testNotPooledEvent() {
+        eventBus.register(new PostingSubscriber());
+        PooledEvent event = new PooledEvent();
+        event.text = "Not pooled";
+        eventBus.post(event);
+        eventBus.post(event);
+        assertEventCount(2);
+        assertEquals("Not pooled", event.text);
+        assertEquals(0, pool.size());
+    }
+
+    @Test(expected = EventBusException.class)
+    public void testReleasedTooOften() {
+        PooledEvent event = obtainEvent("Hello");
+        event.release();
+        event.release();
+    }
+
+    private PooledEvent obtainEvent(String text) {
+        PooledEvent event = pool.obtain();
+        event.recycled = false;
+        event.text = text;
+        return event;
+    }
+
+    private void checkNotRecycled(PooledEvent event) {
+        if (event.recycled || event.text == null) {
+            errors.add("Event was recycled during delivery");
+        }
+    }
+
+    private void waitForPoolSize(int expectedSize) {
+        for (int i = 0; i < 1000 && pool.size() < expectedSize; i++) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        assertEquals(expectedSize, pool.size());
+    }
+
+    public static class PooledEvent extends RecyclableEvent {
+        volatile String text;
+        volatile boolean recycled;
+
+        @Override
+        protected void onRecycle() {
+            text = null;
+            recycled = true;
+        }
+    }
+
+    public static class BufferEvent extends RecyclableEvent {
+        final ByteBuffer payload = ByteBuffer.allocateDirect(64);
+
+        @Override
+        protected void onRecycle() {
+            payload.clear();
+        }
+    }
+
+    public class PostingSubscriber {
+        @Subscribe
+        public void onEvent(PooledEvent event) {
+            checkNotRecycled(event);
+            trackEvent(event);
+        }
+    }
+
+    public class BackgroundSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onEvent(PooledEvent event) {
+            checkNotRecycled(event);
+            trackEvent(event);
+        }
+    }
+
+    public class AsyncSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        public void onEvent(PooledEvent event) {
+            checkNotRecycled(event);
+            trackEvent(event);
+        }
+    }
+
+    public class StickySubscriber {
+        @Subscribe(sticky = true)
+        public void onEvent(PooledEvent event) {
+            checkNotRecycled(event);
+            trackEvent(event);
+        }
+    }
+
+    public class BufferSubscriber {
+        @Subscribe
+        public void onEvent(BufferEvent event) {
+            trackEvent(event.payload.getLong(0));
+        }
+    }
+
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EventBusRingBufferPosterTest extends AbstractEventBusTest {
+
+    private static final int COUNT = LONG_TESTS ? 10000 : 200;
+
+    public EventBusRingBufferPosterTest() {
+        super(true);
+    }
+
+    @Test
+    public void testBackgroundInOrder() {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            eventsReceived.clear();
+            eventCount.set(0);
+            eventBus = EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 16, waitStrategy).build();
+            eventBus.register(new BackgroundSubscriber());
+            List<Object> events = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                events.add(String.valueOf(i));
+                eventBus.post(String.valueOf(i));
+            }
+            waitForEventCount(events.size(), 5000);
+            assertEquals(waitStrategy.name(), events, eventsReceived);
+            assertNotSame(Thread.currentThread(), lastThread);
+        }
+    }
+
+    @Test
+    public void testBackgroundPostAll() {
+        eventBus = EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 8, WaitStrategy.PARK).build();
+        eventBus.register(new BackgroundSubscriber());
+        eventBus.postAll("1", "2", "3");
+        waitForEventCount(3, 1000);
+        assertEquals(Arrays.<Object>asList("1", "2", "3"), eventsReceived);
+    }
+
+    @Test
+    public void testBackgroundSlowSubscriberBlocksWhenFull() {
+        eventBus = EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 4, WaitStrategy.PARK).build();
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.BACKGROUND)
+            public void onEvent(Integer event) throws InterruptedException {
+                Thread.sleep(1);
+                trackEvent(event);
+            }
+        });
+        for (int i = 0; i < 50; i++) {
+            eventBus.post(i);
+        }
+        // Capacity 4: posting can only finish after most of the events were delivered
+        assertTrue(eventCount.get() >= 50 - 4 - 1);
+        waitForEventCount(50, 1000);
+    }
+
+    @Test
+    public void testBackgroundRestartsAfterIdle() throws InterruptedException {
+        eventBus = EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 8, WaitStrategy.PARK).build();
+        eventBus.register(new BackgroundSubscriber());
+        eventBus.post("1");
+        waitForEventCount(1, 1000);
+        // Let the consumer run out of keep alive time
+        Thread.sleep(1200);
+        eventBus.post("2");
+        waitForEventCount(2, 1000);
+    }
+
+    @Test
+    public void testMultiplePostingThreads() throws InterruptedException {
+        eventBus = EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 64, WaitStrategy.YIELD).build();
+        final AtomicInteger lastPerThread[] = new AtomicInteger[4];
+        final List<String> errors = new ArrayList<>();
+        for (int i = 0; i < lastPerThread.length; i++) {
+            lastPerThread[i] = new AtomicInteger(-1);
+        }
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.BACKGROUND)
+            public void onEvent(int[] event) {
+                // Events of one posting thread are delivered in their order
+                if (lastPerThread[event[0]].getAndSet(event[1]) != event[1] - 1) {
+                    errors.add("Out of order: " + event[0] + "/" + event[1]);
+                }
+                trackEvent(event);
+            }
+        });
+        final int countPerThread = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < lastPerThread.length; i++) {
+            final int threadIndex = i;
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < countPerThread; j++) {
+                        eventBus.post(new int[]{threadIndex, j});
+                    }
+                }
+            };
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        waitForEventCount(lastPerThread.length * countPerThread, 5000);
+        assertEquals(0, errors.size());
+    }
+
+    @Test
+    public void testAsyncDeliveredConcurrently() {
+        eventBus = EventBus.builder().ringBufferPoster(ThreadMode.ASYNC, 16, WaitStrategy.YIELD).build();
+        final CountDownLatch latch = new CountDownLatch(2);
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.ASYNC)
+            public void onEvent(String event) {
+                // Would time out if the second event was not delivered in parallel
+                countDownAndAwaitLatch(latch, 5);
+                trackEvent(event);
+            }
+        });
+        eventBus.post("1");
+        eventBus.post("2");
+        waitForEventCount(2, 5000);
+    }
+
+    @Test
+    public void testAsyncManyEvents() {
+        eventBus = EventBus.builder().ringBufferPoster(ThreadMode.ASYNC, 32, WaitStrategy.PARK).build();
+        eventBus.register(new AsyncSubscriber());
+        for (int i = 0; i < 1000; i++) {
+            eventBus.post(String.valueOf(i));
+        }
+        waitForEventCount(1000, 5000);
+    }
+
+    @Test
+    public void testSignals() {
+        eventBus = EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 8, WaitStrategy.PARK).build();
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.BACKGROUND)
+            public void onSignal(int key, long value) {
+                trackEvent(key + "=" + value);
+            }
+        });
+        eventBus.post(1, 10L);
+        eventBus.post(2, 20L);
+        waitForEventCount(2, 1000);
+        assertEquals(Arrays.<Object>asList("1=10", "2=20"), eventsReceived);
+    }
+
+    @Test
+    public void testIllegalConfig() {
+        try {
+            EventBus.builder().ringBufferPoster(ThreadMode.MAIN, 8, WaitStrategy.PARK);
+            fail("MAIN is not supported");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+        try {
+            EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 0, WaitStrategy.PARK);
+            fail("Capacity must be positive");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    /** Posts one event at a time, so the consumer has to wait for and wake up on each event. */
+    @Test
+    public void testBackgroundPostOneAtATime() {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            eventsReceived.clear();
+            eventCount.set(0);
+            eventBus = EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 16, waitStrategy).build();
+            eventBus.register(new BackgroundSubscriber());
+            List<Object> events = new ArrayList<>();
+            for (int i = 0; i < COUNT; i++) {
+                events.add(String.valueOf(i));
+                eventBus.post(String.valueOf(i));
+                waitForEventCount(i + 1, 5000);
+            }
+            assertEquals(waitStrategy.name(), events, eventsReceived);
+        }
+    }
+
+    /** A spinning consumer must not keep spinning for the whole keep alive time after the ring buffer ran empty. */
+    @Test
+    public void testSpinningConsumerParksWhenIdle() throws InterruptedException {
+        eventBus = EventBus.builder().ringBufferPoster(ThreadMode.BACKGROUND, 16, WaitStrategy.SPIN)
+                .backgroundKeepAlive(5000).build();
+        eventBus.register(new BackgroundSubscriber());
+        eventBus.post("1");
+        waitForEventCount(1, 1000);
+        Thread consumer = lastThread;
+        long deadline = System.currentTimeMillis() + 1000;
+        while (consumer.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue("Consumer state: " + consumer.getState(), System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+        // Unparked by the next post, still within the keep alive time
+        eventBus.post("2");
+        waitForEventCount(2, 1000);
+        assertEquals(consumer, lastThread);
+    }
+
+    @Test
+    public void testAsyncRejectedTasksReleaseSlots() {
+        RejectingExecutor executor = new RejectingExecutor();
+        eventBus = EventBus.builder().executorService(executor).ringBufferPoster(ThreadMode.ASYNC, 4, WaitStrategy.PARK)
+                .build();
+        eventBus.register(new AsyncSubscriber());
+        executor.reject = true;
+        // More than the capacity: posting would block for good if rejected events kept their slots
+        for (int i = 0; i < 10; i++) {
+            try {
+                eventBus.post("Rejected");
+                fail("Rejection expected");
+            } catch (RejectedExecutionException expected) {
+                // Expected
+            }
+        }
+        executor.reject = false;
+        for (int i = 0; i < 10; i++) {
+            eventBus.post("Accepted");
+        }
+        waitForEventCount(10, 5000);
+        executor.shutdown();
+    }
+
+    static class RejectingExecutor extends ThreadPoolExecutor {
+        volatile boolean reject;
+
+        RejectingExecutor() {
+            super(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (reject) {
+                throw new RejectedExecutionException("Test");
+            }
+            super.execute(command);
+        }
+    }
+
+    public class BackgroundSubscriber {
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+    public class AsyncSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+}
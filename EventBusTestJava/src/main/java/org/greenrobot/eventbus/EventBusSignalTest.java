@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests primitive signals posted with {@link EventBus#post(int, long)}.
+ */
+public class EventBusSignalTest extends AbstractEventBusTest {
+
+    static final int COUNT = LONG_TESTS ? 1000000 : 100000;
+
+    @Test
+    public void testPostSignal() {
+        SignalSubscriber subscriber = new SignalSubscriber();
+        eventBus.register(subscriber);
+        eventBus.post(7, 42L);
+        eventBus.post(8, Long.MAX_VALUE);
+        assertEquals(2, subscriber.count);
+        assertEquals(15, subscriber.keySum);
+        assertEquals(Long.MAX_VALUE, subscriber.lastValue);
+
+        eventBus.unregister(subscriber);
+        eventBus.post(7, 42L);
+        assertEquals(2, subscriber.count);
+    }
+
+    @Test
+    public void testPostSignalWithIndex() {
+        eventBus = EventBus.builder().addIndex(new EventBusJavaTestsIndex()).build();
+        testPostSignal();
+    }
+
+    @Test
+    public void testPostSignalUsingReflection() {
+        eventBus = EventBus.builder().invokeUsingReflection(true).build();
+        testPostSignal();
+    }
+
+    @Test
+    public void testSignalsAndEventsDontMix() {
+        SignalSubscriber subscriber = new SignalSubscriber();
+        eventBus.register(subscriber);
+        eventBus.register(new ObjectSubscriber());
+        eventBus.post(1, 1L);
+        eventBus.post(Long.valueOf(1));
+        assertEquals(1, subscriber.count);
+        assertEventCount(1);
+    }
+
+    @Test
+    public void testSignalOrderWithNestedPosts() {
+        final List<Object> received = new ArrayList<>();
+        eventBus.register(new Object() {
+            @Subscribe
+            public void onSignal(int key, long value) {
+                received.add(key);
+                if (key == 1) {
+                    eventBus.post("After 1");
+                    eventBus.post(2, 0);
+                }
+            }
+
+            @Subscribe
+            public void onEvent(String event) {
+                received.add(event);
+            }
+        });
+        eventBus.post(1, 0);
+        assertEquals(3, received.size());
+        assertEquals(1, received.get(0));
+        assertEquals("After 1", received.get(1));
+        assertEquals(2, received.get(2));
+    }
+
+    @Test
+    public void testSignalBackground() {
+        BackgroundSignalSubscriber subscriber = new BackgroundSignalSubscriber();
+        eventBus.register(subscriber);
+        for (int i = 0; i < 1000; i++) {
+            eventBus.post(i, i * 2L);
+        }
+        waitForEventCount(1000, 5000);
+        assertTrue(subscriber.inOrder);
+        assertNotSame(Thread.currentThread(), lastThread);
+    }
+
+    @Test
+    public void testSignalAsync() {
+        eventBus.register(new AsyncSignalSubscriber());
+        for (int i = 0; i < 100; i++) {
+            eventBus.post(i, i);
+        }
+        waitForEventCount(100, 5000);
+    }
+
+    @Test
+    public void testSignalSubscriberException() {
+        eventBus = EventBus.builder().logSubscriberExceptions(false).build();
+        ThrowingSignalSubscriber subscriber = new ThrowingSignalSubscriber();
+        eventBus.register(subscriber);
+        eventBus.post(3, 4L);
+        assertEventCount(1);
+        SubscriberExceptionEvent exEvent = (SubscriberExceptionEvent) lastEvent;
+        assertEquals(new Signal(3, 4L), exEvent.causingEvent);
+        assertSame(subscriber, exEvent.causingSubscriber);
+    }
+
+    /** Measures the bytes allocated per posted signal; must be zero after warm up. */
+    @Test
+    public void testSignalAllocationPosting() {
+        final SignalSubscriber subscriber = new SignalSubscriber();
+        eventBus.register(subscriber);
+        long bytes = measureAllocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < COUNT; i++) {
+                    eventBus.post(i, i);
+                }
+            }
+        }, null);
+        assertEquals(bytes + " bytes allocated for " + COUNT + " signals", 0, bytes / COUNT);
+    }
+
+    @Test
+    public void testSignalAllocationBackground() {
+        final SpinningSignalSubscriber subscriber = new SpinningSignalSubscriber();
+        eventBus.register(subscriber);
+        long bytes = measureAllocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                // Post in chunks, so the pending post pool does not run dry
+                for (int i = 0; i < COUNT; i += 1000) {
+                    long expectedCount = subscriber.count + 1000;
+                    for (int j = 0; j < 1000; j++) {
+                        eventBus.post(j, j);
+                    }
+                    long deadline = System.currentTimeMillis() + 5000;
+                    while (subscriber.count < expectedCount) {
+                        assertTrue(System.currentTimeMillis() < deadline);
+                        Thread.yield();
+                    }
+                }
+            }
+        }, subscriber);
+        assertEquals(bytes + " bytes allocated for " + COUNT + " signals", 0, bytes / COUNT);
+    }
+
+    /** Runs once for warm up, and returns the bytes allocated by the posting and the delivering thread afterwards. */
+    private long measureAllocatedBytes(Runnable runnable, SpinningSignalSubscriber deliveringSubscriber) {
+        Method getThreadAllocatedBytes;
+        try {
+            Class<?> hotSpotBean = Class.forName("com.sun.management.ThreadMXBean");
+            getThreadAllocatedBytes = hotSpotBean.getMethod("getThreadAllocatedBytes", long.class);
+        } catch (Exception e) {
+            getThreadAllocatedBytes = null;
+        }
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(getThreadAllocatedBytes != null && getThreadAllocatedBytes.getDeclaringClass()
+                .isInstance(threadMXBean));
+
+        runnable.run();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(Thread.currentThread());
+        if (deliveringSubscriber != null) {
+            threads.add(deliveringSubscriber.thread);
+        }
+        try {
+            long[] before = new long[threads.size()];
+            for (int i = 0; i < before.length; i++) {
+                before[i] = (Long) getThreadAllocatedBytes.invoke(threadMXBean, threads.get(i).getId());
+            }
+            runnable.run();
+            long bytes = 0;
+            for (int i = 0; i < before.length; i++) {
+                bytes += (Long) getThreadAllocatedBytes.invoke(threadMXBean, threads.get(i).getId()) - before[i];
+            }
+            if (deliveringSubscriber != null) {
+                assertSame("Delivering thread changed", threads.get(1), deliveringSubscriber.thread);
+            }
+            return bytes;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static class SignalSubscriber {
+        int count;
+        long keySum;
+        long lastValue;
+
+        @Subscribe
+        public void onSignal(int key, long value) {
+            count++;
+            keySum += key;
+            lastValue = value;
+        }
+    }
+
+    public class ObjectSubscriber {
+        @Subscribe
+        public void onEvent(Object event) {
+            trackEvent(event);
+        }
+    }
+
+    public class BackgroundSignalSubscriber {
+        volatile boolean inOrder = true;
+        private int nextKey;
+
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onSignal(int key, long value) {
+            if (key != nextKey++ || value != key * 2L) {
+                inOrder = false;
+            }
+            trackEvent(null);
+        }
+    }
+
+    public class AsyncSignalSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        public void onSignal(int key, long value) {
+            trackEvent(null);
+        }
+    }
+
+    public class ThrowingSignalSubscriber {
+        @Subscribe
+        public void onSignal(int key, long value) {
+            throw new RuntimeException("Signal " + key);
+        }
+
+        @Subscribe
+        public void onEvent(SubscriberExceptionEvent event) {
+            trackEvent(event);
+        }
+    }
+
+    public static class SpinningSignalSubscriber {
+        volatile long count;
+        volatile Thread thread;
+
+        @Subscribe(threadMode = ThreadMode.BACKGROUND)
+        public void onSignal(int key, long value) {
+            thread = Thread.currentThread();
+            count++;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class EventBusStickyHistoryTest extends AbstractEventBusTest {
+
+    public EventBusStickyHistoryTest() {
+        super(true);
+    }
+
+    @Test
+    public void testReplayInPostingOrder() {
+        eventBus = EventBus.builder().stickyHistory(IntTestEvent.class, 5).build();
+        postSticky(1, 8);
+        eventBus.register(new ReplayThreeSubscriber());
+        assertValues(6, 7, 8);
+
+        eventsReceived.clear();
+        eventBus.register(new ReplayTenSubscriber());
+        assertValues(4, 5, 6, 7, 8);
+    }
+
+    @Test
+    public void testStickyWithoutReplayGetsMostRecent() {
+        eventBus = EventBus.builder().stickyHistory(IntTestEvent.class, 5).build();
+        postSticky(1, 3);
+        eventBus.register(new StickySubscriber());
+        assertValues(3);
+        assertEquals(3, eventBus.getStickyEvent(IntTestEvent.class).value);
+    }
+
+    @Test
+    public void testReplayWithoutHistory() {
+        postSticky(1, 3);
+        eventBus.register(new ReplayThreeSubscriber());
+        assertValues(3);
+    }
+
+    @Test
+    public void testReplayWithEventInheritance() {
+        eventBus = EventBus.builder().stickyHistory(IntTestEvent.class, 5).build();
+        postSticky(1, 3);
+        eventBus.register(new ObjectReplaySubscriber());
+        assertValues(2, 3);
+    }
+
+    @Test
+    public void testBudgetDropsLeastRecentlyPostedHistoryFirst() {
+        eventBus = EventBus.builder().stickyHistory(IntTestEvent.class, 10).stickyHistory(String.class, 10)
+                .stickyHistoryBudget(12).build();
+        postSticky(1, 10);
+        for (int i = 1; i <= 5; i++) {
+            eventBus.postSticky(String.valueOf(i));
+        }
+        eventBus.register(new ReplayTenSubscriber());
+        assertValues(4, 5, 6, 7, 8, 9, 10);
+
+        eventsReceived.clear();
+        eventBus.register(new StringReplaySubscriber());
+        assertEquals(5, eventsReceived.size());
+        assertEquals("1", eventsReceived.get(0));
+        assertEquals("5", eventsReceived.get(4));
+    }
+
+    @Test
+    public void testBudgetKeepsMostRecentStickyEvent() {
+        eventBus = EventBus.builder().stickyHistory(IntTestEvent.class, 10).stickyHistory(String.class, 10)
+                .stickyHistoryBudget(3).build();
+        postSticky(1, 3);
+        for (int i = 1; i <= 3; i++) {
+            eventBus.postSticky(String.valueOf(i));
+        }
+        eventBus.register(new ReplayTenSubscriber());
+        assertValues(3);
+    }
+
+    @Test
+    public void testRemoveStickyEventClearsHistory() {
+        eventBus = EventBus.builder().stickyHistory(IntTestEvent.class, 5).build();
+        postSticky(1, 3);
+        eventBus.removeStickyEvent(IntTestEvent.class);
+        eventBus.register(new ReplayThreeSubscriber());
+        assertValues();
+
+        postSticky(4, 4);
+        eventBus.register(new ReplayTenSubscriber());
+        assertValues(4, 4);
+    }
+
+    @Test
+    public void testRecyclableEventsReleased() {
+        EventPool<EventBusRecyclableEventTest.PooledEvent> pool = new EventPool<>(
+                new EventSupplier<EventBusRecyclableEventTest.PooledEvent>() {
+                    @Override
+                    public EventBusRecyclableEventTest.PooledEvent get() {
+                        return new EventBusRecyclableEventTest.PooledEvent();
+                    }
+                }, 10);
+        eventBus = EventBus.builder().stickyHistory(EventBusRecyclableEventTest.PooledEvent.class, 3).build();
+        List<EventBusRecyclableEventTest.PooledEvent> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(pool.obtain());
+        }
+        for (EventBusRecyclableEventTest.PooledEvent event : events) {
+            eventBus.postSticky(event);
+        }
+        // The two oldest events dropped out of the history; the most recent one is sticky and in the history
+        assertEquals(2, pool.size());
+        assertEquals(2, events.get(4).getReferenceCount());
+        eventBus.removeAllStickyEvents();
+        assertEquals(5, pool.size());
+    }
+
+    private void postSticky(int from, int to) {
+        for (int i = from; i <= to; i++) {
+            eventBus.postSticky(new IntTestEvent(i));
+        }
+    }
+
+    private void assertValues(int... values) {
+        assertEquals(values.length, eventsReceived.size());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], ((IntTestEvent) eventsReceived.get(i)).value);
+        }
+    }
+
+    public class StickySubscriber {
+        @Subscribe(sticky = true)
+        public void onEvent(IntTestEvent event) {
+            trackEvent(event);
+        }
+    }
+
+    public class ReplayThreeSubscriber {
+        @Subscribe(sticky = true, replay = 3)
+        public void onEvent(IntTestEvent event) {
+            trackEvent(event);
+        }
+    }
+
+    public class ReplayTenSubscriber {
+        @Subscribe(sticky = true, replay = 10)
+        public void onEvent(IntTestEvent event) {
+            trackEvent(event);
+        }
+    }
+
+    public class ObjectReplaySubscriber {
+        @Subscribe(sticky = true, replay = 2)
+        public void onEvent(Object event) {
+            trackEvent(event);
+        }
+    }
+
+    public class StringReplaySubscriber {
+        @Subscribe(sticky = true, replay = 10)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+}
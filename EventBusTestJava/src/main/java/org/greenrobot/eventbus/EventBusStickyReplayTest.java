@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/** Sticky events are replayed to new subscribers without holding the lock posting needs. */
+public class EventBusStickyReplayTest extends AbstractEventBusTest {
+
+    private final CountDownLatch replayStarted = new CountDownLatch(1);
+    private final CountDownLatch finishReplay = new CountDownLatch(1);
+    private final CountDownLatch stringReceived = new CountDownLatch(1);
+
+    public EventBusStickyReplayTest() {
+        super(true);
+    }
+
+    @Test
+    public void testPostsProceedDuringSlowStickyReplay() throws InterruptedException {
+        eventBus.postSticky(new IntTestEvent(1));
+        Thread registeringThread = registerInBackground(new SlowStickySubscriber());
+        assertTrue(replayStarted.await(5, TimeUnit.SECONDS));
+
+        // Registering and posting other events need the lock, which the slow sticky subscriber must not hold
+        Thread postingThread = new Thread() {
+            @Override
+            public void run() {
+                eventBus.register(new StringSubscriber());
+                eventBus.post("Hello");
+            }
+        };
+        postingThread.start();
+        assertTrue(stringReceived.await(5, TimeUnit.SECONDS));
+        assertEquals(0, eventCount.get());
+
+        finishReplay.countDown();
+        registeringThread.join(5000);
+        postingThread.join(5000);
+        assertEventCount(1);
+    }
+
+    @Test
+    public void testPostsProceedDuringSlowLazyStickyEvent() throws InterruptedException {
+        final AtomicInteger supplierCalls = new AtomicInteger();
+        eventBus.postSticky(IntTestEvent.class, new EventSupplier<IntTestEvent>() {
+            @Override
+            public IntTestEvent get() {
+                supplierCalls.incrementAndGet();
+                replayStarted.countDown();
+                try {
+                    assertTrue(finishReplay.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return new IntTestEvent(2);
+            }
+        });
+        Thread registeringThread = registerInBackground(new SlowStickySubscriber());
+        assertTrue(replayStarted.await(5, TimeUnit.SECONDS));
+
+        // The supplier is called by the registering thread, but without holding the lock
+        Thread postingThread = new Thread() {
+            @Override
+            public void run() {
+                eventBus.register(new StringSubscriber());
+                eventBus.post("Hello");
+            }
+        };
+        postingThread.start();
+        assertTrue(stringReceived.await(5, TimeUnit.SECONDS));
+        assertEquals(0, eventCount.get());
+
+        finishReplay.countDown();
+        registeringThread.join(5000);
+        postingThread.join(5000);
+        assertEventCount(1);
+        assertEquals(2, eventBus.getStickyEvent(IntTestEvent.class).value);
+        assertEquals(1, supplierCalls.get());
+    }
+
+    @Test
+    public void testPostStickyDuringReplayDeliveredInOrder() throws InterruptedException {
+        eventBus.postSticky(new IntTestEvent(1));
+        Thread registeringThread = registerInBackground(new SlowStickySubscriber());
+        assertTrue(replayStarted.await(5, TimeUnit.SECONDS));
+
+        Thread postingThread = new Thread() {
+            @Override
+            public void run() {
+                eventBus.postSticky(new IntTestEvent(2));
+                eventBus.post(new IntTestEvent(3));
+            }
+        };
+        postingThread.start();
+        // Posting is not blocked by the replay; the subscriber gets the events after the replayed one
+        postingThread.join(5000);
+        assertFalse(postingThread.isAlive());
+        assertEquals(0, eventCount.get());
+
+        finishReplay.countDown();
+        registeringThread.join(5000);
+        assertEventCount(3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, ((IntTestEvent) eventsReceived.get(i)).value);
+        }
+        assertEquals(2, eventBus.getStickyEvent(IntTestEvent.class).value);
+    }
+
+    @Test
+    public void testUnregisterDuringReplay() throws InterruptedException {
+        eventBus.postSticky(new IntTestEvent(1));
+        SlowStickySubscriber subscriber = new SlowStickySubscriber();
+        Thread registeringThread = registerInBackground(subscriber);
+        assertTrue(replayStarted.await(5, TimeUnit.SECONDS));
+
+        eventBus.post(new IntTestEvent(2));
+        eventBus.unregister(subscriber);
+        finishReplay.countDown();
+        registeringThread.join(5000);
+        // The event held back during replay is not delivered after unregistering
+        assertEventCount(1);
+        eventBus.post(new IntTestEvent(3));
+        assertEventCount(1);
+    }
+
+    @Test
+    public void testSubscriberExceptionDuringReplay() {
+        eventBus = EventBus.builder().throwSubscriberException(true).build();
+        eventBus.postSticky("sticky");
+        eventBus.postSticky(new IntTestEvent(1));
+        try {
+            eventBus.register(new ThrowingStickySubscriber());
+            fail("Subscriber exception expected");
+        } catch (EventBusException expected) {
+            // Either sticky subscription may be replayed first
+        }
+        // The subscription not replayed because of the exception must not keep holding back events
+        eventBus.post("Hello");
+        eventBus.post(new IntTestEvent(2));
+        assertEventCount(2);
+    }
+
+    private Thread registerInBackground(final Object subscriber) {
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                eventBus.register(subscriber);
+            }
+        };
+        thread.start();
+        return thread;
+    }
+
+    public class SlowStickySubscriber {
+        @Subscribe(sticky = true)
+        public void onEvent(IntTestEvent event) throws InterruptedException {
+            if (event.value == 1) {
+                replayStarted.countDown();
+                assertTrue(finishReplay.await(5, TimeUnit.SECONDS));
+            }
+            trackEvent(event);
+        }
+    }
+
+    public class ThrowingStickySubscriber {
+        @Subscribe(sticky = true)
+        public void onEvent(String event) {
+            if (event.equals("sticky")) {
+                throw new RuntimeException("Sticky string");
+            }
+            trackEvent(event);
+        }
+
+        @Subscribe(sticky = true)
+        public void onEvent(IntTestEvent event) {
+            if (event.value == 1) {
+                throw new RuntimeException("Sticky int");
+            }
+            trackEvent(event);
+        }
+    }
+
+    public class StringSubscriber {
+        @Subscribe
+        public void onEvent(String event) {
+            stringReceived.countDown();
+        }
+    }
+}
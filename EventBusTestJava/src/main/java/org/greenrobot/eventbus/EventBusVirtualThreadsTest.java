@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusVirtualThreadsTest extends AbstractEventBusTest {
+
+    public EventBusVirtualThreadsTest() {
+        super(true);
+    }
+
+    @Test
+    public void testAsyncVirtualThreads() {
+        eventBus = EventBus.builder().asyncVirtualThreads(true).build();
+        eventBus.register(new AsyncSubscriber());
+        eventBus.post("Hello");
+        waitForEventCount(1, 1000);
+        assertNotSame(Thread.currentThread(), lastThread);
+        // Falls back to the executor service on older JVMs
+        assertEquals(VirtualThreads.isSupported(), VirtualThreads.isVirtual(lastThread));
+    }
+
+    @Test
+    public void testBackgroundStaysOnExecutorService() {
+        eventBus = EventBus.builder().asyncVirtualThreads(true).build();
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.BACKGROUND)
+            public void onEvent(String event) {
+                trackEvent(event);
+            }
+        });
+        eventBus.post("Hello");
+        waitForEventCount(1, 1000);
+        assertFalse(VirtualThreads.isVirtual(lastThread));
+    }
+
+    @Test
+    public void testManyBlockingSubscribers() {
+        Assume.assumeTrue(VirtualThreads.isSupported());
+        eventBus = EventBus.builder().asyncVirtualThreads(true).build();
+        eventBus.register(new Object() {
+            @Subscribe(threadMode = ThreadMode.ASYNC)
+            public void onEvent(Integer event) throws InterruptedException {
+                // Like blocking I/O; would take 1000 seconds if delivered one after another
+                Thread.sleep(100);
+                trackEvent(event);
+            }
+        });
+        int count = 10000;
+        for (int i = 0; i < count; i++) {
+            eventBus.post(i);
+        }
+        // Fails unless (nearly) all subscribers block at the same time, each on its own virtual thread
+        waitForEventCount(count, 5000);
+    }
+
+    @Test
+    public void testPostFromVirtualThreads() throws Exception {
+        ExecutorService executorService = VirtualThreads.getExecutorService();
+        Assume.assumeTrue(executorService != null);
+        eventBus.register(this);
+        Future<?> future = executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                assertTrue(VirtualThreads.isVirtual(Thread.currentThread()));
+                eventBus.post("1");
+                // Posting state was removed after the first post, a new one is used now
+                eventBus.post("3");
+            }
+        });
+        future.get();
+        assertEquals(Arrays.<Object>asList("1", "2", "3", "4"), eventsReceived);
+    }
+
+    @Subscribe
+    public void onEvent(String event) {
+        trackEvent(event);
+        if (event.equals("1") || event.equals("3")) {
+            // Queued behind the current event, which requires the posting state during posting
+            eventBus.post(String.valueOf(Integer.parseInt(event) + 1));
+            assertEquals(event, lastEvent);
+        }
+    }
+
+    public class AsyncSubscriber {
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        public void onEvent(String event) {
+            trackEvent(event);
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventQueueTest extends AbstractEventBusTest {
+
+    private int expectedFollowUp;
+
+    @Test
+    public void testFifoAcrossWrapAround() {
+        EventQueue queue = new EventQueue();
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 11; i++) {
+                queue.add(next++);
+            }
+            for (int i = 0; i < 7; i++) {
+                assertEquals(expected++, queue.remove());
+            }
+        }
+        while (!queue.isEmpty()) {
+            assertEquals(expected++, queue.remove());
+        }
+        assertEquals(next, expected);
+    }
+
+    @Test
+    public void testShrinksAfterBurst() {
+        EventQueue queue = new EventQueue();
+        int initialCapacity = queue.capacity();
+        for (int i = 0; i < 10000; i++) {
+            queue.add(i);
+        }
+        assertTrue(queue.capacity() >= 10000);
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, queue.remove());
+        }
+        assertEquals(0, queue.size());
+        assertEquals(initialCapacity, queue.capacity());
+    }
+
+    @Test
+    public void testGrowsByDoubling() {
+        EventQueue queue = new EventQueue();
+        int capacity = queue.capacity();
+        int growCount = 0;
+        for (int i = 0; i < 100000; i++) {
+            queue.add(i);
+            if (queue.capacity() != capacity) {
+                assertEquals(capacity * 2, queue.capacity());
+                capacity = queue.capacity();
+                growCount++;
+            }
+        }
+        // 16 -> 131072
+        assertEquals(13, growCount);
+    }
+
+    @Test
+    public void testCascadingPosts() {
+        eventBus.register(this);
+        postCascade(10);
+        postCascade(10000);
+        postCascade(100000);
+    }
+
+    /** Posts a single event, which makes the subscriber post the given count of follow-up events re-entrantly. */
+    private void postCascade(int count) {
+        eventCount.set(0);
+        expectedFollowUp = 0;
+        eventBus.post(new FanOutEvent(count));
+        assertEquals(count, eventCount.get());
+        assertEquals(count, expectedFollowUp);
+    }
+
+    @Subscribe
+    public void onEvent(FanOutEvent event) {
+        for (int i = 0; i < event.count; i++) {
+            eventBus.post(new FollowUpEvent(i));
+        }
+    }
+
+    @Subscribe
+    public void onEvent(FollowUpEvent event) {
+        // Re-entrant posts are queued and delivered in order after the current event
+        if (event.index == expectedFollowUp) {
+            expectedFollowUp++;
+        }
+        eventCount.incrementAndGet();
+    }
+
+    public static class FanOutEvent {
+        final int count;
+
+        FanOutEvent(int count) {
+            this.count = count;
+        }
+    }
+
+    public static class FollowUpEvent {
+        final int index;
+
+        FollowUpEvent(int index) {
+            this.index = index;
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2020 Markus Junginger, greenrobot (http://greenrobot.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.greenrobot.eventbus;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTest {
+
+    private final TimingWheel timingWheel = new TimingWheel(1, new Logger.SystemOutLogger());
+    private final List<Integer> expired = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testExpiresInDeadlineOrder() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        schedule(3, 60, latch);
+        schedule(1, 20, latch);
+        schedule(2, 40, latch);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, (int) expired.get(0));
+        assertEquals(2, (int) expired.get(1));
+        assertEquals(3, (int) expired.get(2));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    public void testCascadesFromHigherLevel() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        long start = System.nanoTime();
+        // 64 buckets of 1 ms per level: the later timeouts start in level 1 and are cascaded to level 0
+        schedule(3, 150, latch);
+        schedule(1, 30, latch);
+        schedule(2, 100, latch);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+        assertEquals(1, (int) expired.get(0));
+        assertEquals(2, (int) expired.get(1));
+        assertEquals(3, (int) expired.get(2));
+    }
+
+    @Test
+    public void testCancelInHigherLevel() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        TimingWheel.Timeout timeout = schedule(1, 100, null);
+        schedule(2, 120, latch);
+        assertTrue(timeout.cancel());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, expired.size());
+        assertEquals(2, (int) expired.get(0));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        TimingWheel.Timeout timeout = schedule(1, 20, null);
+        schedule(2, 40, latch);
+        assertEquals(2, timingWheel.size());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, expired.size());
+        assertEquals(2, (int) expired.get(0));
+    }
+
+    @Test
+    public void testResumesAfterIdle() throws InterruptedException {
+        CountDownLatch latch1 = new CountDownLatch(1);
+        schedule(1, 1, latch1);
+        assertTrue(latch1.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        CountDownLatch latch2 = new CountDownLatch(1);
+        long start = System.nanoTime();
+        schedule(2, 20, latch2);
+        assertTrue(latch2.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    private TimingWheel.Timeout schedule(final int id, long delayMillis, final CountDownLatch latch) {
+        return timingWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                expired.add(id);
+                if (latch != null) {
+                    latch.countDown();
+                }
+            }
+        }, delayMillis);
+    }
+}